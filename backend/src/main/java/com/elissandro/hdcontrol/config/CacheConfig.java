@@ -0,0 +1,46 @@
+package com.elissandro.hdcontrol.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/*
+ * The cache advice runs outside the transaction advice, so a hit never opens
+ * a transaction or borrows a connection.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+	public static final String PRODUCTS = "products";
+	public static final String PRODUCT_PAGES = "productPages";
+
+	@Value("${products.cache.maximum-size:10000}")
+	private long maximumSize;
+
+	@Value("${products.cache.page-maximum-size:1000}")
+	private long pageMaximumSize;
+
+	@Value("${products.cache.ttl-minutes:10}")
+	private long ttlMinutes;
+
+	@Bean
+	CacheManager cacheManager() {
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+		cacheManager.registerCustomCache(PRODUCTS, spec(maximumSize).build());
+		cacheManager.registerCustomCache(PRODUCT_PAGES, spec(pageMaximumSize).build());
+		return cacheManager;
+	}
+
+	private Caffeine<Object, Object> spec(long size) {
+		return Caffeine.newBuilder().maximumSize(size).expireAfterWrite(Duration.ofMinutes(ttlMinutes)).recordStats();
+	}
+}
@@ -1,27 +1,53 @@
 package com.elissandro.hdcontrol.controllers;
 
+import java.io.IOException;
 import java.net.URI;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.elissandro.hdcontrol.dtos.CursorPageDTO;
+import com.elissandro.hdcontrol.dtos.OrderArchiveResultDTO;
+import com.elissandro.hdcontrol.dtos.OrderChangesDTO;
 import com.elissandro.hdcontrol.dtos.OrderDTO;
+import com.elissandro.hdcontrol.dtos.OrderFilterDTO;
+import com.elissandro.hdcontrol.dtos.OrderImportResultDTO;
+import com.elissandro.hdcontrol.dtos.OrderItemDTO;
+import com.elissandro.hdcontrol.dtos.OrderListDTO;
+import com.elissandro.hdcontrol.dtos.OrderStatusResultDTO;
+import com.elissandro.hdcontrol.dtos.OrderStatusUpdateDTO;
+import com.elissandro.hdcontrol.dtos.OrderSummaryDTO;
 import com.elissandro.hdcontrol.entities.Order;
+import com.elissandro.hdcontrol.services.AuthService;
+import com.elissandro.hdcontrol.services.OrderArchiveService;
+import com.elissandro.hdcontrol.services.OrderExportService;
+import com.elissandro.hdcontrol.services.OrderImportService;
+import com.elissandro.hdcontrol.services.OrderStreamService;
 import com.elissandro.hdcontrol.services.OrderService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
@@ -31,30 +57,168 @@ public class OrderController {
 	@Autowired
 	private OrderService service;
 
+	@Autowired
+	private OrderExportService exportService;
+
+	@Autowired
+	private OrderImportService importService;
+
+	@Autowired
+	private OrderStreamService streamService;
+
+	@Autowired
+	private OrderArchiveService archiveService;
+
+	@Autowired
+	private AuthService authService;
+
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER', 'ROLE_CLIENT')")
 	@GetMapping
-	public ResponseEntity<Page<OrderDTO>> findAll(
-			@RequestParam(defaultValue = "") Integer userId,
+	public ResponseEntity<Page<OrderDTO>> findAll(OrderFilterDTO filter, Pageable pageable) {
+		Page<OrderDTO> list = service.findAllPaged(pageable, filter);
+		return ResponseEntity.ok().body(list);
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER', 'ROLE_CLIENT')")
+	@GetMapping(params = "cursor")
+	public ResponseEntity<CursorPageDTO<OrderDTO>> findAllByCursor(
+			@RequestParam String cursor,
+			OrderFilterDTO filter,
 			Pageable pageable) {
-		Page<Order> list = service.findAllPaged(pageable, userId);
+		requireUserId(filter.getUserId());
+		CursorPageDTO<OrderDTO> page = service.findAllByCursor(cursor, pageable, filter);
+		return ResponseEntity.ok().body(page);
+	}
+	
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER', 'ROLE_CLIENT')")
+	@GetMapping("/search")
+	public ResponseEntity<Page<OrderDTO>> search(
+			@RequestParam String q,
+			@RequestParam(required = false) Integer userId,
+			Pageable pageable) {
+		requireUserId(userId);
+		Page<Order> list = service.search(q, userId, pageable);
 		Page<OrderDTO> listDto = list.map(x -> new OrderDTO(x));
 		return ResponseEntity.ok().body(listDto);
 	}
-	
+
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
 	@GetMapping("/allorders")
-	public ResponseEntity<Page<OrderDTO>> findAllAdmin(
+	public ResponseEntity<Page<OrderDTO>> findAllAdmin(OrderFilterDTO filter, Pageable pageable) {
+		Page<OrderDTO> list = service.findAllPagedOrders(pageable, filter);
+		return ResponseEntity.ok().body(list);
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER', 'ROLE_CLIENT')")
+	@GetMapping("/list")
+	public ResponseEntity<Page<OrderListDTO>> findList(
+			@RequestParam Integer userId,
+			OrderFilterDTO filter,
 			Pageable pageable) {
-		Page<Order> list = service.findAllPagedOrders(pageable);
-		Page<OrderDTO> listDto = list.map(x -> new OrderDTO(x));
-		return ResponseEntity.ok().body(listDto);
+		filter.setUserId(userId);
+		Page<OrderListDTO> list = service.findOrderList(pageable, filter);
+		return ResponseEntity.ok().body(list);
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER', 'ROLE_CLIENT')")
+	@GetMapping("/changes")
+	public ResponseEntity<OrderChangesDTO> findChanges(
+			@RequestParam Integer userId,
+			@RequestParam(required = false) String since,
+			@RequestParam(defaultValue = "500") Integer size) {
+		OrderChangesDTO changes = service.findChanges(since, userId, size);
+		return ResponseEntity.ok().body(changes);
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@GetMapping("/allorders/changes")
+	public ResponseEntity<OrderChangesDTO> findChangesAdmin(
+			@RequestParam(required = false) String since,
+			@RequestParam(defaultValue = "500") Integer size) {
+		OrderChangesDTO changes = service.findChanges(since, null, size);
+		return ResponseEntity.ok().body(changes);
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@GetMapping("/allorders/list")
+	public ResponseEntity<Page<OrderListDTO>> findListAdmin(OrderFilterDTO filter, Pageable pageable) {
+		Page<OrderListDTO> list = service.findOrderList(pageable, filter);
+		return ResponseEntity.ok().body(list);
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@GetMapping(value = "/allorders", params = "cursor")
+	public ResponseEntity<CursorPageDTO<OrderDTO>> findAllAdminByCursor(
+			@RequestParam String cursor,
+			OrderFilterDTO filter,
+			Pageable pageable) {
+		CursorPageDTO<OrderDTO> page = service.findAllByCursor(cursor, pageable, filter);
+		return ResponseEntity.ok().body(page);
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER', 'ROLE_CLIENT')")
+	@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+		return streamService.subscribe(lastEventId);
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER', 'ROLE_CLIENT')")
+	@GetMapping("/summary")
+	public ResponseEntity<OrderSummaryDTO> summary(@RequestParam(required = false) Integer userId) {
+		requireUserId(userId);
+		OrderSummaryDTO dto = service.summary(userId);
+		return ResponseEntity.ok().body(dto);
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@GetMapping("/export")
+	public void export(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+		switch (format) {
+		case "ndjson" -> {
+			response.setContentType("application/x-ndjson;charset=UTF-8");
+			response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.ndjson\"");
+			exportService.exportNdjson(response.getOutputStream());
+		}
+		case "csv" -> {
+			response.setContentType("text/csv;charset=UTF-8");
+			response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.csv\"");
+			exportService.exportCsv(response.getOutputStream());
+		}
+		default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+		}
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@PostMapping("/import")
+	public ResponseEntity<OrderImportResultDTO> importOrders(@RequestParam(defaultValue = "ndjson") String format,
+			@RequestParam(required = false) Integer chunkSize, HttpServletRequest request) throws IOException {
+		OrderImportResultDTO result = switch (format) {
+		case "ndjson" -> importService.importNdjson(request.getInputStream(), chunkSize);
+		case "csv" -> importService.importCsv(request.getInputStream(), chunkSize);
+		default -> throw new IllegalArgumentException("Unsupported import format: " + format);
+		};
+		return ResponseEntity.ok().body(result);
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@PostMapping("/archive")
+	public ResponseEntity<OrderArchiveResultDTO> archive() {
+		OrderArchiveResultDTO result = archiveService.archive();
+		return ResponseEntity.ok().body(result);
 	}
 
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER', 'ROLE_CLIENT')")
 	@GetMapping("/{id}")
-	public ResponseEntity<OrderDTO> findById(@PathVariable Long id) {
+	public ResponseEntity<OrderDTO> findById(@PathVariable Long id,
+			@RequestParam(defaultValue = "false") boolean includeArchived, WebRequest request) {
+		if (includeArchived) {
+			return ResponseEntity.ok().body(service.findByIdIncludingArchived(id));
+		}
+		if (request.checkNotModified(service.findETag(id))) {
+			return null;
+		}
 		OrderDTO dto = new OrderDTO(service.findById(id));
-		return ResponseEntity.ok().body(dto);
+		return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(dto);
 	}
 	
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
@@ -67,9 +231,25 @@ public class OrderController {
 	
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
 	@PutMapping("/{id}")
-	public ResponseEntity<OrderDTO> update(@PathVariable Long id,@Valid @RequestBody OrderDTO dto) {
-		Order order = service.update(id, dto);
-		return ResponseEntity.ok().body(new OrderDTO(order));
+	public ResponseEntity<OrderDTO> update(@PathVariable Long id,@Valid @RequestBody OrderDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		Order order = service.update(id, dto, ifMatch);
+		return ResponseEntity.ok().eTag(service.eTag(order)).body(new OrderDTO(order));
+	}
+	
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+	@PatchMapping("/status")
+	public ResponseEntity<List<OrderStatusResultDTO>> updateStatus(@Valid @RequestBody OrderStatusUpdateDTO dto) {
+		List<OrderStatusResultDTO> results = service.updateStatus(dto);
+		return ResponseEntity.ok().body(results);
+	}
+	
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+	@PatchMapping("/{id}/items")
+	public ResponseEntity<OrderDTO> updateItem(@PathVariable Long id, @RequestBody OrderItemDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		Order order = service.updateItem(id, dto, ifMatch);
+		return ResponseEntity.ok().eTag(service.eTag(order)).body(new OrderDTO(order));
 	}
 	
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
@@ -79,4 +259,13 @@ public class OrderController {
 		return ResponseEntity.noContent().build();
 	}
 
+	/*
+	 * Routes shared with clients are read one user at a time; only admins may
+	 * leave userId out and get every user's orders.
+	 */
+	private void requireUserId(Integer userId) {
+		if (userId == null && !authService.isAdmin()) {
+			throw new IllegalArgumentException("Parâmetro userId é obrigatório");
+		}
+	}
 }
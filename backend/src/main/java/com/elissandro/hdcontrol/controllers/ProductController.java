@@ -1,8 +1,15 @@
 package com.elissandro.hdcontrol.controllers;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,37 +18,94 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.elissandro.hdcontrol.dtos.CacheStatsDTO;
 import com.elissandro.hdcontrol.dtos.ProductDTO;
+import com.elissandro.hdcontrol.dtos.ProductFacetsDTO;
+import com.elissandro.hdcontrol.dtos.ProductImportResultDTO;
+import com.elissandro.hdcontrol.dtos.ProductSuggestionDTO;
 import com.elissandro.hdcontrol.entities.Product;
+import com.elissandro.hdcontrol.services.ProductCacheService;
+import com.elissandro.hdcontrol.services.ProductImportService;
 import com.elissandro.hdcontrol.services.ProductService;
+import com.elissandro.hdcontrol.services.ProductSuggestService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/products")
 public class ProductController {
 
+	@Value("${products.catalog.max-age-seconds:0}")
+	private long catalogMaxAge;
+
 	@Autowired
 	private ProductService service;
 
+	@Autowired
+	private ProductSuggestService suggestService;
+
+	@Autowired
+	private ProductCacheService cacheService;
+
+	@Autowired
+	private ProductImportService importService;
+
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
 	@GetMapping
-	public ResponseEntity<Page<ProductDTO>> findAll(@RequestParam(defaultValue = "") String name, Pageable pageable) {
-		Page<Product> list = service.findAllPaged(name, pageable);
-		Page<ProductDTO> listDto = list.map(x -> new ProductDTO(x));
-		return ResponseEntity.ok().body(listDto);
+	public ResponseEntity<Page<ProductDTO>> findAll(@RequestParam(defaultValue = "") String name,
+			@RequestParam(required = false) String brand, Pageable pageable, WebRequest request) {
+		long version = service.catalogVersion();
+		if (request.checkNotModified(service.catalogETag(version))) {
+			return null;
+		}
+		Page<ProductDTO> list = service.findAllPaged(version, name, brand, pageable);
+		return ResponseEntity.ok().cacheControl(CacheControl.maxAge(catalogMaxAge, TimeUnit.SECONDS).cachePrivate())
+				.body(list);
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+	@GetMapping("/facets")
+	public ResponseEntity<ProductFacetsDTO> findFacets(@RequestParam(defaultValue = "") String name,
+			@RequestParam(required = false) String brand, Pageable pageable, WebRequest request) {
+		long version = service.catalogVersion();
+		if (request.checkNotModified(service.catalogETag(version))) {
+			return null;
+		}
+		ProductFacetsDTO facets = new ProductFacetsDTO(service.findAllPaged(version, name, brand, pageable),
+				service.countBrands(version, name));
+		return ResponseEntity.ok().cacheControl(CacheControl.maxAge(catalogMaxAge, TimeUnit.SECONDS).cachePrivate())
+				.body(facets);
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+	@GetMapping("/suggest")
+	public ResponseEntity<List<ProductSuggestionDTO>> suggest(@RequestParam(defaultValue = "") String prefix,
+			@RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok().body(suggestService.suggest(prefix, limit));
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@GetMapping("/cache/stats")
+	public ResponseEntity<List<CacheStatsDTO>> cacheStats() {
+		return ResponseEntity.ok().body(cacheService.stats());
 	}
 
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
 	@GetMapping("/{id}")
-	public ResponseEntity<ProductDTO> findById(@PathVariable Long id) {
-		Product obj = service.findById(id);
-		ProductDTO dto = new ProductDTO(obj);
-		return ResponseEntity.ok().body(dto);
+	public ResponseEntity<ProductDTO> findById(@PathVariable Long id, WebRequest request) {
+		long version = service.findVersion(id);
+		if (request.checkNotModified(service.eTag(version))) {
+			return null;
+		}
+		ProductDTO dto = service.findDtoById(id, version);
+		return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(dto);
 	}
 
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
@@ -53,13 +117,28 @@ public class ProductController {
 		return ResponseEntity.ok().body(new ProductDTO(entity));
 	}
 	
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@PostMapping("/bulk")
+	public ResponseEntity<ProductImportResultDTO> bulkUpsert(@RequestBody List<ProductDTO> dtos,
+			@RequestParam(required = false) Integer chunkSize) {
+		return ResponseEntity.ok().body(importService.upsert(dtos, chunkSize));
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@PostMapping("/import")
+	public ResponseEntity<ProductImportResultDTO> importProducts(@RequestParam(required = false) Integer chunkSize,
+			HttpServletRequest request) throws IOException {
+		return ResponseEntity.ok().body(importService.importCsv(request.getInputStream(), chunkSize));
+	}
+
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
 	@PutMapping("/{id}")
-	public ResponseEntity<ProductDTO> update(@PathVariable Long id,@Valid @RequestBody ProductDTO dto) {
+	public ResponseEntity<ProductDTO> update(@PathVariable Long id,@Valid @RequestBody ProductDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 		Product entity = service.findById(id);
 		copyDtoToEntity(dto, entity);
-		entity = service.update(id, entity);
-		return ResponseEntity.ok().body(new ProductDTO(entity));
+		entity = service.update(id, entity, ifMatch);
+		return ResponseEntity.ok().eTag(service.eTag(entity)).body(new ProductDTO(entity));
 	}
 	
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
@@ -0,0 +1,85 @@
+package com.elissandro.hdcontrol.controllers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.elissandro.hdcontrol.dtos.BrandStatsDTO;
+import com.elissandro.hdcontrol.dtos.ProductStatsDTO;
+import com.elissandro.hdcontrol.dtos.RevenueBucketDTO;
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+import com.elissandro.hdcontrol.entities.enums.ReportGranularity;
+import com.elissandro.hdcontrol.services.ClientBalanceService;
+import com.elissandro.hdcontrol.services.DailyRevenueService;
+import com.elissandro.hdcontrol.services.ProductStatsService;
+
+@RestController
+@RequestMapping(value = "/reports")
+public class ReportController {
+
+	@Autowired
+	private DailyRevenueService revenueService;
+
+	@Autowired
+	private ProductStatsService productStatsService;
+
+	@Autowired
+	private ClientBalanceService clientBalanceService;
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@GetMapping("/revenue")
+	public ResponseEntity<List<RevenueBucketDTO>> findRevenue(
+			@RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+			@RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+			@RequestParam(defaultValue = "DAY") ReportGranularity granularity,
+			@RequestParam(required = false) Set<OrderStatus> status) {
+		List<RevenueBucketDTO> list = revenueService.findRevenue(from, to, granularity, status);
+		return ResponseEntity.ok().body(list);
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@PostMapping("/revenue/rebuild")
+	public ResponseEntity<Integer> rebuildRevenue() {
+		return ResponseEntity.ok().body(revenueService.rebuild());
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@GetMapping("/top-products")
+	public ResponseEntity<List<ProductStatsDTO>> findTopProducts(
+			@RequestParam(defaultValue = "quantity") String by,
+			@RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok().body(productStatsService.findTopProducts(by, limit));
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@GetMapping("/top-brands")
+	public ResponseEntity<List<BrandStatsDTO>> findTopBrands(
+			@RequestParam(defaultValue = "quantity") String by,
+			@RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok().body(productStatsService.findTopBrands(by, limit));
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@PostMapping("/top-products/rebuild")
+	public ResponseEntity<Integer> rebuildProductStats() {
+		return ResponseEntity.ok().body(productStatsService.rebuild());
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@PostMapping("/client-balances/rebuild")
+	public ResponseEntity<Integer> rebuildClientBalances() {
+		return ResponseEntity.ok().body(clientBalanceService.rebuild());
+	}
+
+}
@@ -14,13 +14,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.elissandro.hdcontrol.dtos.ClientStatementDTO;
 import com.elissandro.hdcontrol.dtos.UserDTO;
 import com.elissandro.hdcontrol.dtos.UserInsertDTO;
 import com.elissandro.hdcontrol.dtos.UserUpdateDTO;
 import com.elissandro.hdcontrol.entities.User;
+import com.elissandro.hdcontrol.services.ClientBalanceService;
 import com.elissandro.hdcontrol.services.UserService;
 
 import jakarta.validation.Valid;
@@ -31,6 +34,9 @@ public class UserController {
 
 	@Autowired
 	private UserService service;
+
+	@Autowired
+	private ClientBalanceService clientBalanceService;
 	
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER', 'ROLE_CLIENT')")
 	@GetMapping(value = "/me")
@@ -55,6 +61,13 @@ public class UserController {
 		UserDTO dto = new UserDTO(obj);
 		return ResponseEntity.ok().body(dto);	
 	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+	@GetMapping("/{id}/statement")
+	public ResponseEntity<ClientStatementDTO> findStatement(@PathVariable Long id,
+			@RequestParam(required = false) Integer latest) {
+		return ResponseEntity.ok().body(clientBalanceService.findStatement(id, latest));
+	}
 	
 	@PreAuthorize("hasAnyRole('ADMIN')")
 	@PostMapping
@@ -0,0 +1,26 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+
+public class BrandCountDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private String brand;
+	private Long quantity;
+
+	public BrandCountDTO() {
+	}
+
+	public BrandCountDTO(String brand, Long quantity) {
+		this.brand = brand;
+		this.quantity = quantity;
+	}
+
+	public String getBrand() {
+		return brand;
+	}
+
+	public Long getQuantity() {
+		return quantity;
+	}
+}
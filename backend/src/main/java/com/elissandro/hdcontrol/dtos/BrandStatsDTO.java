@@ -0,0 +1,41 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+
+import com.elissandro.hdcontrol.entities.BrandStats;
+
+public class BrandStatsDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private String brand;
+	private Long quantity;
+	private Double revenue;
+	private Long orders;
+
+	public BrandStatsDTO() {
+	}
+
+	public BrandStatsDTO(BrandStats entity) {
+		brand = entity.getBrand();
+		quantity = entity.getQuantity();
+		revenue = entity.getRevenue();
+		orders = entity.getOrderCount();
+	}
+
+	public String getBrand() {
+		return brand;
+	}
+
+	public Long getQuantity() {
+		return quantity;
+	}
+
+	public Double getRevenue() {
+		return revenue;
+	}
+
+	public Long getOrders() {
+		return orders;
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+public class CacheStatsDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private String name;
+	private long size;
+	private long hits;
+	private long misses;
+	private double hitRate;
+	private long evictions;
+
+	public CacheStatsDTO() {
+	}
+
+	public CacheStatsDTO(String name, long size, CacheStats stats) {
+		this.name = name;
+		this.size = size;
+		hits = stats.hitCount();
+		misses = stats.missCount();
+		hitRate = stats.hitRate();
+		evictions = stats.evictionCount();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	public double getHitRate() {
+		return hitRate;
+	}
+
+	public long getEvictions() {
+		return evictions;
+	}
+
+}
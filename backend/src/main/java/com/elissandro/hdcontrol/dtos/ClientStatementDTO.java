@@ -0,0 +1,58 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.elissandro.hdcontrol.entities.ClientBalance;
+import com.elissandro.hdcontrol.entities.User;
+
+public class ClientStatementDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private UserMinDTO user;
+	private long orders;
+	private double total;
+	private double paidTotal;
+	private double openBalance;
+	private List<OrderListDTO> latestOrders = new ArrayList<>();
+
+	public ClientStatementDTO() {
+	}
+
+	public ClientStatementDTO(User user, ClientBalance balance, List<OrderListDTO> latestOrders) {
+		this.user = new UserMinDTO(user.getId(), user.getFirstName(), user.getLastName());
+		if (balance != null) {
+			orders = balance.getOrderCount();
+			total = balance.getTotal();
+			paidTotal = balance.getPaidTotal();
+			openBalance = total - paidTotal;
+		}
+		this.latestOrders = latestOrders;
+	}
+
+	public UserMinDTO getUser() {
+		return user;
+	}
+
+	public long getOrders() {
+		return orders;
+	}
+
+	public double getTotal() {
+		return total;
+	}
+
+	public double getPaidTotal() {
+		return paidTotal;
+	}
+
+	public double getOpenBalance() {
+		return openBalance;
+	}
+
+	public List<OrderListDTO> getLatestOrders() {
+		return latestOrders;
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+public class OrderArchiveResultDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private LocalDate cutoff;
+	private long ordersArchived;
+	private long itemsArchived;
+	private int batches;
+	private long elapsedMillis;
+
+	public OrderArchiveResultDTO() {
+	}
+
+	public OrderArchiveResultDTO(LocalDate cutoff) {
+		this.cutoff = cutoff;
+	}
+
+	public LocalDate getCutoff() {
+		return cutoff;
+	}
+
+	public long getOrdersArchived() {
+		return ordersArchived;
+	}
+
+	public void setOrdersArchived(long ordersArchived) {
+		this.ordersArchived = ordersArchived;
+	}
+
+	public long getItemsArchived() {
+		return itemsArchived;
+	}
+
+	public void setItemsArchived(long itemsArchived) {
+		this.itemsArchived = itemsArchived;
+	}
+
+	public int getBatches() {
+		return batches;
+	}
+
+	public void setBatches(int batches) {
+		this.batches = batches;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public void setElapsedMillis(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+}
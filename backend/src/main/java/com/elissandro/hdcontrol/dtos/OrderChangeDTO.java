@@ -0,0 +1,64 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+
+public class OrderChangeDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	public enum Type {
+		CREATED,
+		UPDATED,
+		DELETED,
+		STATUS_CHANGED,
+		PAYMENT_CHANGED,
+		IMPORTED;
+	}
+
+	private String id;
+	private Type type;
+	private Long orderId;
+	private Long userId;
+	private OrderStatus status;
+	private Instant moment = Instant.now();
+
+	public OrderChangeDTO() {
+	}
+
+	public OrderChangeDTO(Type type, Long orderId, Long userId, OrderStatus status) {
+		this.type = type;
+		this.orderId = orderId;
+		this.userId = userId;
+		this.status = status;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public Long getOrderId() {
+		return orderId;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public OrderStatus getStatus() {
+		return status;
+	}
+
+	public Instant getMoment() {
+		return moment;
+	}
+}
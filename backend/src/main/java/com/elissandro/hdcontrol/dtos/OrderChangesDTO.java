@@ -0,0 +1,41 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderChangesDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private List<OrderListDTO> changed = new ArrayList<>();
+	private List<Long> deleted = new ArrayList<>();
+	private String since;
+	private boolean hasMore;
+
+	public OrderChangesDTO() {
+	}
+
+	public OrderChangesDTO(List<OrderListDTO> changed, List<Long> deleted, String since, boolean hasMore) {
+		this.changed = changed;
+		this.deleted = deleted;
+		this.since = since;
+		this.hasMore = hasMore;
+	}
+
+	public List<OrderListDTO> getChanged() {
+		return changed;
+	}
+
+	public List<Long> getDeleted() {
+		return deleted;
+	}
+
+	public String getSince() {
+		return since;
+	}
+
+	public boolean isHasMore() {
+		return hasMore;
+	}
+
+}
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.elissandro.hdcontrol.entities.ArchivedOrder;
 import com.elissandro.hdcontrol.entities.Order;
 import com.elissandro.hdcontrol.entities.enums.OrderStatus;
 
@@ -45,12 +46,20 @@ public class OrderDTO {
 		this.status = entity.getStatus();
 		this.deliveryDate = entity.getDeliveryDate();
 		entity.getItems().forEach(item -> this.items.add(new OrderItemDTO(item)));
-		this.total = entity.getItems().stream()
-				.mapToDouble(item -> item.getPrice() * item.getQuantity())
-				.sum();
-		this.totalQuantity = entity.getItems().stream()
-				.mapToInt(item -> item.getQuantity())
-				.sum();
+		this.total = entity.getTotal();
+		this.totalQuantity = entity.getTotalQuantity();
+	}
+
+	public OrderDTO(ArchivedOrder entity) {
+		this.id = entity.getId();
+		this.user = new UserDTO(entity.getUser());
+		this.setServiceDescription(entity.getServiceDescription());
+		this.setObservation(entity.getObservation());
+		this.status = entity.getStatus();
+		this.deliveryDate = entity.getDeliveryDate();
+		entity.getItems().forEach(item -> this.items.add(new OrderItemDTO(item)));
+		this.total = entity.getTotal();
+		this.totalQuantity = entity.getTotalQuantity();
 	}
 
 	public Long getId() {
@@ -0,0 +1,97 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+
+public class OrderFilterDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Set<OrderStatus> status = new HashSet<>();
+
+	@DateTimeFormat(iso = ISO.DATE)
+	private LocalDate deliveryDateFrom;
+
+	@DateTimeFormat(iso = ISO.DATE)
+	private LocalDate deliveryDateTo;
+
+	private Integer userId;
+	private Boolean hasPayment;
+	private Double minTotal;
+	private Double maxTotal;
+	private Boolean includeArchived;
+
+	public OrderFilterDTO() {
+	}
+
+	public Set<OrderStatus> getStatus() {
+		return status;
+	}
+
+	public void setStatus(Set<OrderStatus> status) {
+		this.status = status;
+	}
+
+	public LocalDate getDeliveryDateFrom() {
+		return deliveryDateFrom;
+	}
+
+	public void setDeliveryDateFrom(LocalDate deliveryDateFrom) {
+		this.deliveryDateFrom = deliveryDateFrom;
+	}
+
+	public LocalDate getDeliveryDateTo() {
+		return deliveryDateTo;
+	}
+
+	public void setDeliveryDateTo(LocalDate deliveryDateTo) {
+		this.deliveryDateTo = deliveryDateTo;
+	}
+
+	public Integer getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Integer userId) {
+		this.userId = userId;
+	}
+
+	public Boolean getHasPayment() {
+		return hasPayment;
+	}
+
+	public void setHasPayment(Boolean hasPayment) {
+		this.hasPayment = hasPayment;
+	}
+
+	public Double getMinTotal() {
+		return minTotal;
+	}
+
+	public void setMinTotal(Double minTotal) {
+		this.minTotal = minTotal;
+	}
+
+	public Double getMaxTotal() {
+		return maxTotal;
+	}
+
+	public void setMaxTotal(Double maxTotal) {
+		this.maxTotal = maxTotal;
+	}
+
+	public Boolean getIncludeArchived() {
+		return includeArchived;
+	}
+
+	public void setIncludeArchived(Boolean includeArchived) {
+		this.includeArchived = includeArchived;
+	}
+
+}
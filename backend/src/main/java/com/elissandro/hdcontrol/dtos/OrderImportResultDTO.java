@@ -0,0 +1,74 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderImportResultDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	public static final int MAX_REJECTED_LINES = 1000;
+
+	private long linesRead;
+	private long ordersImported;
+	private long itemsImported;
+	private long ordersRejected;
+	private long elapsedMillis;
+	private long rowsPerSecond;
+	private List<RejectedLineDTO> rejected = new ArrayList<>();
+
+	public OrderImportResultDTO() {
+	}
+
+	public long getLinesRead() {
+		return linesRead;
+	}
+
+	public void setLinesRead(long linesRead) {
+		this.linesRead = linesRead;
+	}
+
+	public long getOrdersImported() {
+		return ordersImported;
+	}
+
+	public void setOrdersImported(long ordersImported) {
+		this.ordersImported = ordersImported;
+	}
+
+	public long getItemsImported() {
+		return itemsImported;
+	}
+
+	public void setItemsImported(long itemsImported) {
+		this.itemsImported = itemsImported;
+	}
+
+	public long getOrdersRejected() {
+		return ordersRejected;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public void setElapsedMillis(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+		this.rowsPerSecond = elapsedMillis == 0 ? linesRead : linesRead * 1000 / elapsedMillis;
+	}
+
+	public long getRowsPerSecond() {
+		return rowsPerSecond;
+	}
+
+	public List<RejectedLineDTO> getRejected() {
+		return rejected;
+	}
+
+	public void reject(long line, String message) {
+		ordersRejected++;
+		if (rejected.size() < MAX_REJECTED_LINES) {
+			rejected.add(new RejectedLineDTO(line, message));
+		}
+	}
+}
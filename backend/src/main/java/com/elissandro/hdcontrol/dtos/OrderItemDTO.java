@@ -1,5 +1,6 @@
 package com.elissandro.hdcontrol.dtos;
 
+import com.elissandro.hdcontrol.entities.ArchivedOrderItem;
 import com.elissandro.hdcontrol.entities.OrderItem;
 
 public class OrderItemDTO {
@@ -24,6 +25,13 @@ public class OrderItemDTO {
 		this.subTotal = this.price * this.quantity;
 	}
 
+	public OrderItemDTO(ArchivedOrderItem entity) {
+		this.product = new ProductDTO(entity.getProduct());
+		this.quantity = entity.getQuantity();
+		this.price = entity.getPrice();
+		this.subTotal = this.price * this.quantity;
+	}
+
 	public Integer getQuantity() {
 		return quantity;
 	}
@@ -0,0 +1,86 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+import com.elissandro.hdcontrol.entities.enums.PaymentStatus;
+
+public class OrderListDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long id;
+	private String serviceDescription;
+	private LocalDate deliveryDate;
+	private OrderStatus status;
+	private Double total;
+	private Integer totalQuantity;
+	private UserMinDTO user;
+	private PaymentStatus paymentStatus;
+	private Instant paymentDate;
+	private Instant updatedAt;
+
+	public OrderListDTO() {
+	}
+
+	public OrderListDTO(Long id, String serviceDescription, LocalDate deliveryDate, OrderStatus status,
+			Long userId, String userFirstName, String userLastName,
+			PaymentStatus paymentStatus, Instant paymentDate, Double total, Integer totalQuantity, Instant updatedAt) {
+		this.id = id;
+		this.serviceDescription = serviceDescription;
+		this.deliveryDate = deliveryDate;
+		this.status = status;
+		this.user = new UserMinDTO(userId, userFirstName, userLastName);
+		this.paymentStatus = paymentStatus;
+		this.paymentDate = paymentDate;
+		this.total = total;
+		this.totalQuantity = totalQuantity;
+		this.updatedAt = updatedAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getServiceDescription() {
+		return serviceDescription;
+	}
+
+	public LocalDate getDeliveryDate() {
+		return deliveryDate;
+	}
+
+	public OrderStatus getStatus() {
+		return status;
+	}
+
+	public Double getTotal() {
+		return total;
+	}
+
+	public Integer getTotalQuantity() {
+		return totalQuantity;
+	}
+
+	public UserMinDTO getUser() {
+		return user;
+	}
+
+	public PaymentStatus getPaymentStatus() {
+		return paymentStatus;
+	}
+
+	public Instant getPaymentDate() {
+		return paymentDate;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Instant updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
+}
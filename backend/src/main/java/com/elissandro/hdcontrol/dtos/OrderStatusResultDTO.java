@@ -0,0 +1,47 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+
+public class OrderStatusResultDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	public enum Result {
+		UPDATED,
+		UNCHANGED,
+		INVALID_TRANSITION,
+		NOT_FOUND;
+	}
+
+	private Long id;
+	private Result result;
+	private OrderStatus previousStatus;
+	private OrderStatus status;
+
+	public OrderStatusResultDTO() {
+	}
+
+	public OrderStatusResultDTO(Long id, Result result, OrderStatus previousStatus, OrderStatus status) {
+		this.id = id;
+		this.result = result;
+		this.previousStatus = previousStatus;
+		this.status = status;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Result getResult() {
+		return result;
+	}
+
+	public OrderStatus getPreviousStatus() {
+		return previousStatus;
+	}
+
+	public OrderStatus getStatus() {
+		return status;
+	}
+}
@@ -0,0 +1,41 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class OrderStatusUpdateDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@NotEmpty(message = "Informe ao menos um pedido")
+	@Size(max = 1000, message = "Máximo de 1000 pedidos por requisição")
+	private List<Long> ids = new ArrayList<>();
+
+	@NotNull(message = "Campo obrigatório")
+	private OrderStatus status;
+
+	public OrderStatusUpdateDTO() {
+	}
+
+	public List<Long> getIds() {
+		return ids;
+	}
+
+	public void setIds(List<Long> ids) {
+		this.ids = ids;
+	}
+
+	public OrderStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(OrderStatus status) {
+		this.status = status;
+	}
+}
@@ -0,0 +1,79 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderSummaryDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long totalCount = 0L;
+	private Double grandTotal = 0.0;
+	private Long paidCount = 0L;
+	private Double paidTotal = 0.0;
+	private Long unpaidCount = 0L;
+	private Double unpaidTotal = 0.0;
+
+	private List<StatusSummaryDTO> byStatus = new ArrayList<>();
+	private List<StatusSummaryDTO> byPaymentStatus = new ArrayList<>();
+
+	public OrderSummaryDTO() {
+	}
+
+	public Long getTotalCount() {
+		return totalCount;
+	}
+
+	public void setTotalCount(Long totalCount) {
+		this.totalCount = totalCount;
+	}
+
+	public Double getGrandTotal() {
+		return grandTotal;
+	}
+
+	public void setGrandTotal(Double grandTotal) {
+		this.grandTotal = grandTotal;
+	}
+
+	public Long getPaidCount() {
+		return paidCount;
+	}
+
+	public void setPaidCount(Long paidCount) {
+		this.paidCount = paidCount;
+	}
+
+	public Double getPaidTotal() {
+		return paidTotal;
+	}
+
+	public void setPaidTotal(Double paidTotal) {
+		this.paidTotal = paidTotal;
+	}
+
+	public Long getUnpaidCount() {
+		return unpaidCount;
+	}
+
+	public void setUnpaidCount(Long unpaidCount) {
+		this.unpaidCount = unpaidCount;
+	}
+
+	public Double getUnpaidTotal() {
+		return unpaidTotal;
+	}
+
+	public void setUnpaidTotal(Double unpaidTotal) {
+		this.unpaidTotal = unpaidTotal;
+	}
+
+	public List<StatusSummaryDTO> getByStatus() {
+		return byStatus;
+	}
+
+	public List<StatusSummaryDTO> getByPaymentStatus() {
+		return byPaymentStatus;
+	}
+
+}
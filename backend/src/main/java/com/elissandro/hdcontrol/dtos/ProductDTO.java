@@ -3,6 +3,7 @@ package com.elissandro.hdcontrol.dtos;
 import java.io.Serializable;
 
 import com.elissandro.hdcontrol.entities.Product;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
@@ -19,6 +20,8 @@ public class ProductDTO implements Serializable {
 	private String brand;
 	@Positive(message = "Campo deve ser maior que zero")
 	private Double price;
+	@JsonIgnore
+	private Long version;
 	
 	public ProductDTO() {
 	}
@@ -37,6 +40,7 @@ public class ProductDTO implements Serializable {
 		this.description = entity.getDescription();
 		this.brand = entity.getBrand();
 		this.price = entity.getPrice();
+		this.version = entity.getVersion();
 	}
 
 	public Long getId() {
@@ -79,6 +83,10 @@ public class ProductDTO implements Serializable {
 		this.price = price;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
 }
 
 
@@ -0,0 +1,29 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+
+public class ProductFacetsDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Page<ProductDTO> products;
+	private List<BrandCountDTO> brands;
+
+	public ProductFacetsDTO() {
+	}
+
+	public ProductFacetsDTO(Page<ProductDTO> products, List<BrandCountDTO> brands) {
+		this.products = products;
+		this.brands = brands;
+	}
+
+	public Page<ProductDTO> getProducts() {
+		return products;
+	}
+
+	public List<BrandCountDTO> getBrands() {
+		return brands;
+	}
+}
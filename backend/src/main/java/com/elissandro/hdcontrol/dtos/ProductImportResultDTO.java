@@ -0,0 +1,83 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.elissandro.hdcontrol.dtos.ProductImportRowDTO.Status;
+
+public class ProductImportResultDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private long linesRead;
+	private long productsInserted;
+	private long productsUpdated;
+	private long productsUnchanged;
+	private long productsRejected;
+	private long elapsedMillis;
+	private long rowsPerSecond;
+	private List<ProductImportRowDTO> rows = new ArrayList<>();
+
+	public ProductImportResultDTO() {
+	}
+
+	public long getLinesRead() {
+		return linesRead;
+	}
+
+	public long getProductsInserted() {
+		return productsInserted;
+	}
+
+	public long getProductsUpdated() {
+		return productsUpdated;
+	}
+
+	public long getProductsUnchanged() {
+		return productsUnchanged;
+	}
+
+	public long getProductsRejected() {
+		return productsRejected;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public void setElapsedMillis(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+		this.rowsPerSecond = elapsedMillis == 0 ? linesRead : linesRead * 1000 / elapsedMillis;
+	}
+
+	public long getRowsPerSecond() {
+		return rowsPerSecond;
+	}
+
+	public List<ProductImportRowDTO> getRows() {
+		return rows;
+	}
+
+	public ProductImportRowDTO addRow(long line) {
+		linesRead++;
+		ProductImportRowDTO row = new ProductImportRowDTO(line);
+		rows.add(row);
+		return row;
+	}
+
+	public void complete(ProductImportRowDTO row, Status status, Long id) {
+		row.setStatus(status);
+		row.setId(id);
+		switch (status) {
+		case INSERTED -> productsInserted++;
+		case UPDATED -> productsUpdated++;
+		case UNCHANGED -> productsUnchanged++;
+		case REJECTED -> productsRejected++;
+		}
+	}
+
+	public void reject(ProductImportRowDTO row, String message) {
+		row.setMessage(message);
+		complete(row, Status.REJECTED, row.getId());
+	}
+}
@@ -0,0 +1,54 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+
+public class ProductImportRowDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	public enum Status {
+		INSERTED,
+		UPDATED,
+		UNCHANGED,
+		REJECTED;
+	}
+
+	private long line;
+	private Long id;
+	private Status status;
+	private String message;
+
+	public ProductImportRowDTO() {
+	}
+
+	public ProductImportRowDTO(long line) {
+		this.line = line;
+	}
+
+	public long getLine() {
+		return line;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+}
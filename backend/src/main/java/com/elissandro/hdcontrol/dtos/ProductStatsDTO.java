@@ -0,0 +1,53 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+
+import com.elissandro.hdcontrol.entities.ProductStats;
+
+public class ProductStatsDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long productId;
+	private String name;
+	private String brand;
+	private Long quantity;
+	private Double revenue;
+	private Long orders;
+
+	public ProductStatsDTO() {
+	}
+
+	public ProductStatsDTO(ProductStats entity) {
+		productId = entity.getId();
+		name = entity.getProduct().getName();
+		brand = entity.getProduct().getBrand();
+		quantity = entity.getQuantity();
+		revenue = entity.getRevenue();
+		orders = entity.getOrderCount();
+	}
+
+	public Long getProductId() {
+		return productId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getBrand() {
+		return brand;
+	}
+
+	public Long getQuantity() {
+		return quantity;
+	}
+
+	public Double getRevenue() {
+		return revenue;
+	}
+
+	public Long getOrders() {
+		return orders;
+	}
+
+}
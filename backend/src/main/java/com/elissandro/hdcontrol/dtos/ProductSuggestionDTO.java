@@ -0,0 +1,39 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+
+public class ProductSuggestionDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long id;
+	private String name;
+	private String brand;
+	private Double price;
+
+	public ProductSuggestionDTO() {
+	}
+
+	public ProductSuggestionDTO(Long id, String name, String brand, Double price) {
+		this.id = id;
+		this.name = name;
+		this.brand = brand;
+		this.price = price;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getBrand() {
+		return brand;
+	}
+
+	public Double getPrice() {
+		return price;
+	}
+
+}
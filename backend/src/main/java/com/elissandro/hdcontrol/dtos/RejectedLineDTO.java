@@ -0,0 +1,26 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+
+public class RejectedLineDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long line;
+	private String message;
+
+	public RejectedLineDTO() {
+	}
+
+	public RejectedLineDTO(Long line, String message) {
+		this.line = line;
+		this.message = message;
+	}
+
+	public Long getLine() {
+		return line;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+}
@@ -0,0 +1,51 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import com.elissandro.hdcontrol.entities.DailyRevenue;
+
+public class RevenueBucketDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private LocalDate period;
+	private long orders;
+	private long quantity;
+	private double revenue;
+	private double paidRevenue;
+
+	public RevenueBucketDTO() {
+	}
+
+	public RevenueBucketDTO(LocalDate period) {
+		this.period = period;
+	}
+
+	public void add(DailyRevenue entity) {
+		orders += entity.getOrderCount();
+		quantity += entity.getQuantity();
+		revenue += entity.getRevenue();
+		paidRevenue += entity.getPaidRevenue();
+	}
+
+	public LocalDate getPeriod() {
+		return period;
+	}
+
+	public long getOrders() {
+		return orders;
+	}
+
+	public long getQuantity() {
+		return quantity;
+	}
+
+	public double getRevenue() {
+		return revenue;
+	}
+
+	public double getPaidRevenue() {
+		return paidRevenue;
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+
+import com.elissandro.hdcontrol.projections.OrderStatusSummaryProjection;
+import com.elissandro.hdcontrol.projections.PaymentStatusSummaryProjection;
+
+public class StatusSummaryDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private String status;
+	private Long quantity;
+	private Double total;
+
+	public StatusSummaryDTO() {
+	}
+
+	public StatusSummaryDTO(String status, Long quantity, Double total) {
+		this.status = status;
+		this.quantity = quantity;
+		this.total = total;
+	}
+
+	public StatusSummaryDTO(OrderStatusSummaryProjection projection) {
+		this.status = projection.getStatus() == null ? null : projection.getStatus().name();
+		this.quantity = projection.getQuantity();
+		this.total = projection.getTotal();
+	}
+
+	public StatusSummaryDTO(PaymentStatusSummaryProjection projection) {
+		this.status = projection.getStatus() == null ? null : projection.getStatus().name();
+		this.quantity = projection.getQuantity();
+		this.total = projection.getTotal();
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public Long getQuantity() {
+		return quantity;
+	}
+
+	public void setQuantity(Long quantity) {
+		this.quantity = quantity;
+	}
+
+	public Double getTotal() {
+		return total;
+	}
+
+	public void setTotal(Double total) {
+		this.total = total;
+	}
+
+}
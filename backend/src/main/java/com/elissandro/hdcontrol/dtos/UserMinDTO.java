@@ -0,0 +1,33 @@
+package com.elissandro.hdcontrol.dtos;
+
+import java.io.Serializable;
+
+public class UserMinDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long id;
+	private String firstName;
+	private String lastName;
+
+	public UserMinDTO() {
+	}
+
+	public UserMinDTO(Long id, String firstName, String lastName) {
+		this.id = id;
+		this.firstName = firstName;
+		this.lastName = lastName;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getFirstName() {
+		return firstName;
+	}
+
+	public String getLastName() {
+		return lastName;
+	}
+
+}
@@ -0,0 +1,139 @@
+package com.elissandro.hdcontrol.entities;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import org.hibernate.annotations.Immutable;
+
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+import com.elissandro.hdcontrol.entities.enums.PaymentStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+
+/*
+ * Closed orders moved out of tb_order by OrderArchiveService. Rows are only
+ * written by the archive batches, through JDBC; the payment is flattened into
+ * the order row.
+ */
+@Entity
+@Immutable
+@Table(name = "tb_order_archive", indexes = {
+		@Index(name = "idx_order_archive_delivery_date_id", columnList = "delivery_date, id"),
+		@Index(name = "idx_order_archive_user_id_delivery_date", columnList = "user_id, delivery_date") })
+public class ArchivedOrder implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	private Long id;
+	private LocalDate deliveryDate;
+
+	@Enumerated(EnumType.STRING)
+	private OrderStatus status;
+
+	private String serviceDescription;
+	private String observation;
+
+	@Column(nullable = false)
+	private Double total;
+
+	@Column(nullable = false)
+	private Integer totalQuantity;
+
+	private PaymentStatus paymentStatus;
+	private Instant paymentMoment;
+
+	@Column(nullable = false)
+	private Instant updatedAt;
+
+	@Column(nullable = false)
+	private Instant archivedAt;
+
+	@ManyToOne
+	@JoinColumn(name = "user_id")
+	private User user;
+
+	@OneToMany(mappedBy = "id.order")
+	private Set<ArchivedOrderItem> items = new HashSet<>();
+
+	public Long getId() {
+		return id;
+	}
+
+	public LocalDate getDeliveryDate() {
+		return deliveryDate;
+	}
+
+	public OrderStatus getStatus() {
+		return status;
+	}
+
+	public String getServiceDescription() {
+		return serviceDescription;
+	}
+
+	public String getObservation() {
+		return observation;
+	}
+
+	public Double getTotal() {
+		return total;
+	}
+
+	public Integer getTotalQuantity() {
+		return totalQuantity;
+	}
+
+	public PaymentStatus getPaymentStatus() {
+		return paymentStatus;
+	}
+
+	public Instant getPaymentMoment() {
+		return paymentMoment;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public Instant getArchivedAt() {
+		return archivedAt;
+	}
+
+	public User getUser() {
+		return user;
+	}
+
+	public Set<ArchivedOrderItem> getItems() {
+		return items;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ArchivedOrder other = (ArchivedOrder) obj;
+		return Objects.equals(id, other.id);
+	}
+}
@@ -0,0 +1,57 @@
+package com.elissandro.hdcontrol.entities;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import org.hibernate.annotations.Immutable;
+
+import com.elissandro.hdcontrol.entities.pk.ArchivedOrderItemPK;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+@Entity
+@Immutable
+@Table(name = "tb_order_item_archive")
+public class ArchivedOrderItem implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@EmbeddedId
+	private ArchivedOrderItemPK id = new ArchivedOrderItemPK();
+	private Integer quantity;
+	private Double price;
+
+	public ArchivedOrder getOrder() {
+		return id.getOrder();
+	}
+
+	public Product getProduct() {
+		return id.getProduct();
+	}
+
+	public Integer getQuantity() {
+		return quantity;
+	}
+
+	public Double getPrice() {
+		return price;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ArchivedOrderItem other = (ArchivedOrderItem) obj;
+		return Objects.equals(id, other.id);
+	}
+}
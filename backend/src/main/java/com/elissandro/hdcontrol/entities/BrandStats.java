@@ -0,0 +1,70 @@
+package com.elissandro.hdcontrol.entities;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/*
+ * Same counters as ProductStats per brand; an order counts once per brand
+ * however many of its products share it.
+ */
+@Entity
+@Immutable
+@Table(name = "tb_brand_stats", indexes = {
+		@Index(name = "idx_brand_stats_quantity", columnList = "quantity, brand"),
+		@Index(name = "idx_brand_stats_revenue", columnList = "revenue, brand") })
+public class BrandStats implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	private String brand;
+
+	@Column(nullable = false)
+	private Long quantity;
+
+	@Column(nullable = false)
+	private Double revenue;
+
+	@Column(nullable = false)
+	private Long orderCount;
+
+	public String getBrand() {
+		return brand;
+	}
+
+	public Long getQuantity() {
+		return quantity;
+	}
+
+	public Double getRevenue() {
+		return revenue;
+	}
+
+	public Long getOrderCount() {
+		return orderCount;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(brand);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		BrandStats other = (BrandStats) obj;
+		return Objects.equals(brand, other.brand);
+	}
+}
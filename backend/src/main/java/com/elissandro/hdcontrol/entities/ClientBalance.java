@@ -0,0 +1,80 @@
+package com.elissandro.hdcontrol.entities;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+
+/*
+ * Lifetime totals per client over orders that are not cancelled: what was
+ * ordered and what is paid. Kept in step with the orders and payments by
+ * ClientBalanceDeltas; JPA only reads it.
+ */
+@Entity
+@Immutable
+@Table(name = "tb_client_balance")
+public class ClientBalance implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	private Long id;
+
+	@OneToOne
+	@MapsId
+	@JoinColumn(name = "user_id")
+	private User user;
+
+	@Column(nullable = false)
+	private Long orderCount;
+
+	@Column(nullable = false)
+	private Double total;
+
+	@Column(nullable = false)
+	private Double paidTotal;
+
+	public Long getId() {
+		return id;
+	}
+
+	public User getUser() {
+		return user;
+	}
+
+	public Long getOrderCount() {
+		return orderCount;
+	}
+
+	public Double getTotal() {
+		return total;
+	}
+
+	public Double getPaidTotal() {
+		return paidTotal;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ClientBalance other = (ClientBalance) obj;
+		return Objects.equals(id, other.id);
+	}
+}
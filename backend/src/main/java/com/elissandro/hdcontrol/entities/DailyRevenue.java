@@ -0,0 +1,83 @@
+package com.elissandro.hdcontrol.entities;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import org.hibernate.annotations.Immutable;
+
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+import com.elissandro.hdcontrol.entities.pk.DailyRevenuePK;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+/*
+ * Revenue rollup per delivery date and order status, hot and archived orders
+ * alike. Kept in step by DailyRevenueService inside each writing transaction;
+ * JPA only reads it.
+ */
+@Entity
+@Immutable
+@Table(name = "tb_daily_revenue")
+public class DailyRevenue implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@EmbeddedId
+	private DailyRevenuePK id = new DailyRevenuePK();
+
+	@Column(nullable = false)
+	private Long orderCount;
+
+	@Column(nullable = false)
+	private Long quantity;
+
+	@Column(nullable = false)
+	private Double revenue;
+
+	@Column(nullable = false)
+	private Double paidRevenue;
+
+	public LocalDate getRevenueDate() {
+		return id.getRevenueDate();
+	}
+
+	public OrderStatus getStatus() {
+		return id.getStatus();
+	}
+
+	public Long getOrderCount() {
+		return orderCount;
+	}
+
+	public Long getQuantity() {
+		return quantity;
+	}
+
+	public Double getRevenue() {
+		return revenue;
+	}
+
+	public Double getPaidRevenue() {
+		return paidRevenue;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		DailyRevenue other = (DailyRevenue) obj;
+		return Objects.equals(id, other.id);
+	}
+}
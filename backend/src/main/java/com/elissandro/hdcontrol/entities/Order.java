@@ -1,20 +1,25 @@
 package com.elissandro.hdcontrol.entities;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import com.elissandro.hdcontrol.entities.enums.OrderStatus;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -22,9 +27,16 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
-@Table(name = "tb_order")
+@Table(name = "tb_order", indexes = {
+		@Index(name = "idx_order_delivery_date_id", columnList = "delivery_date, id"),
+		@Index(name = "idx_order_user_id_id", columnList = "user_id, id"),
+		@Index(name = "idx_order_total", columnList = "total"),
+		@Index(name = "idx_order_status_delivery_date", columnList = "status, delivery_date"),
+		@Index(name = "idx_order_user_id_delivery_date_id", columnList = "user_id, delivery_date, id"),
+		@Index(name = "idx_order_updated_at_id", columnList = "updated_at, id") })
 public class Order implements Serializable {
 	private static final long serialVersionUID = 1L;
 
@@ -38,6 +50,23 @@ public class Order implements Serializable {
 	
 	private String serviceDescription;
 	private String observation;
+
+	@ColumnDefault("0")
+	@Column(nullable = false)
+	private Double total = 0.0;
+
+	@ColumnDefault("0")
+	@Column(nullable = false)
+	private Integer totalQuantity = 0;
+
+	@Version
+	@ColumnDefault("0")
+	@Column(nullable = false)
+	private Long version;
+
+	@ColumnDefault("CURRENT_TIMESTAMP")
+	@Column(nullable = false)
+	private Instant updatedAt;
 	
 	@OneToOne(mappedBy = "order", cascade = CascadeType.ALL)
 	private Payment payment;
@@ -111,6 +140,34 @@ public class Order implements Serializable {
 		this.observation = observation;
 	}
 
+	public Double getTotal() {
+		return total;
+	}
+
+	public void setTotal(Double total) {
+		this.total = total;
+	}
+
+	public Integer getTotalQuantity() {
+		return totalQuantity;
+	}
+
+	public void setTotalQuantity(Integer totalQuantity) {
+		this.totalQuantity = totalQuantity;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Instant updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
 	public Set<OrderItem> getItems() {
 		return items;
 	}
@@ -0,0 +1,74 @@
+package com.elissandro.hdcontrol.entities;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "tb_order_tombstone", indexes = @Index(name = "idx_order_tombstone_deleted_at", columnList = "deleted_at"))
+public class OrderTombstone {
+
+	@Id
+	@Column(name = "order_id")
+	private Long orderId;
+	@Column(nullable = false)
+	private Long userId;
+	@Column(nullable = false)
+	private Instant deletedAt;
+
+	public OrderTombstone() {
+	}
+
+	public OrderTombstone(Long orderId, Long userId, Instant deletedAt) {
+		this.orderId = orderId;
+		this.userId = userId;
+		this.deletedAt = deletedAt;
+	}
+
+	public Long getOrderId() {
+		return orderId;
+	}
+
+	public void setOrderId(Long orderId) {
+		this.orderId = orderId;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public Instant getDeletedAt() {
+		return deletedAt;
+	}
+
+	public void setDeletedAt(Instant deletedAt) {
+		this.deletedAt = deletedAt;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(orderId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		OrderTombstone other = (OrderTombstone) obj;
+		return Objects.equals(orderId, other.orderId);
+	}
+
+}
@@ -0,0 +1,124 @@
+package com.elissandro.hdcontrol.entities;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+import com.elissandro.hdcontrol.entities.enums.PaymentStatus;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+
+/*
+ * Read-only union of hot and archived orders, used only when a query asks for
+ * includeArchived. Both branches expose the same columns so the filters and
+ * sort properties of Order apply unchanged.
+ */
+@Entity
+@Immutable
+@Subselect("SELECT o.id, o.user_id, o.service_description, o.delivery_date, o.status, o.total, o.total_quantity, "
+		+ "o.updated_at, p.status AS payment_status, p.moment AS payment_moment, "
+		+ "p.order_id IS NOT NULL AS has_payment, FALSE AS archived "
+		+ "FROM tb_order o LEFT JOIN tb_payment p ON p.order_id = o.id "
+		+ "UNION ALL "
+		+ "SELECT a.id, a.user_id, a.service_description, a.delivery_date, a.status, a.total, a.total_quantity, "
+		+ "a.updated_at, a.payment_status, a.payment_moment, "
+		+ "(a.payment_status IS NOT NULL OR a.payment_moment IS NOT NULL) AS has_payment, TRUE AS archived "
+		+ "FROM tb_order_archive a")
+@Synchronize({ "tb_order", "tb_payment", "tb_order_archive" })
+public class OrderView {
+
+	@Id
+	private Long id;
+	private String serviceDescription;
+	private LocalDate deliveryDate;
+
+	@Enumerated(EnumType.STRING)
+	private OrderStatus status;
+
+	private Double total;
+	private Integer totalQuantity;
+	private Instant updatedAt;
+	private PaymentStatus paymentStatus;
+	private Instant paymentMoment;
+	private Boolean hasPayment;
+	private Boolean archived;
+
+	@ManyToOne
+	@JoinColumn(name = "user_id")
+	private User user;
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getServiceDescription() {
+		return serviceDescription;
+	}
+
+	public LocalDate getDeliveryDate() {
+		return deliveryDate;
+	}
+
+	public OrderStatus getStatus() {
+		return status;
+	}
+
+	public Double getTotal() {
+		return total;
+	}
+
+	public Integer getTotalQuantity() {
+		return totalQuantity;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public PaymentStatus getPaymentStatus() {
+		return paymentStatus;
+	}
+
+	public Instant getPaymentMoment() {
+		return paymentMoment;
+	}
+
+	public Boolean getHasPayment() {
+		return hasPayment;
+	}
+
+	public Boolean getArchived() {
+		return archived;
+	}
+
+	public User getUser() {
+		return user;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		OrderView other = (OrderView) obj;
+		return Objects.equals(id, other.id);
+	}
+}
@@ -6,16 +6,20 @@ import java.util.Objects;
 
 import com.elissandro.hdcontrol.entities.enums.PaymentStatus;
 
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.MapsId;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "tb_payment")
+@Table(name = "tb_payment", indexes = @Index(name = "idx_payment_updated_at", columnList = "updated_at"))
 public class Payment implements Serializable {
 	private static final long serialVersionUID = 1L;
 	
@@ -24,6 +28,10 @@ public class Payment implements Serializable {
 	private Long id;
 	private Instant moment;
 	private PaymentStatus status;
+
+	@ColumnDefault("CURRENT_TIMESTAMP")
+	@Column(nullable = false)
+	private Instant updatedAt;
 	
 	@OneToOne
 	@MapsId
@@ -55,6 +63,14 @@ public class Payment implements Serializable {
 		this.moment = moment;
 	}
 
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Instant updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
 	public Order getOrder() {
 		return order;
 	}
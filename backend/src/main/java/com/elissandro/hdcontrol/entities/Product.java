@@ -5,15 +5,21 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
-@Table(name = "tb_product")
+@Table(name = "tb_product", indexes = {
+		@Index(name = "idx_product_brand_id", columnList = "brand, id") })
 public class Product implements Serializable {
 	private static final long serialVersionUID = 1L;
 
@@ -24,6 +30,11 @@ public class Product implements Serializable {
 	private String description;
 	private String brand;
 	private Double price;
+
+	@Version
+	@ColumnDefault("0")
+	@Column(nullable = false)
+	private Long version;
 	
 	@OneToMany(mappedBy = "id.product")
 	private Set<OrderItem> items = new HashSet<>();
@@ -79,6 +90,10 @@ public class Product implements Serializable {
 		this.price = price;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(id);
@@ -0,0 +1,83 @@
+package com.elissandro.hdcontrol.entities;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+
+/*
+ * Lifetime sales counters per product, cancelled orders excluded. Kept in step
+ * by ProductStatsService inside each writing transaction; JPA only reads it.
+ * The (counter, product_id) indexes answer the top-N reports in index order.
+ */
+@Entity
+@Immutable
+@Table(name = "tb_product_stats", indexes = {
+		@Index(name = "idx_product_stats_quantity", columnList = "quantity, product_id"),
+		@Index(name = "idx_product_stats_revenue", columnList = "revenue, product_id") })
+public class ProductStats implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	private Long id;
+
+	@OneToOne
+	@MapsId
+	@JoinColumn(name = "product_id")
+	private Product product;
+
+	@Column(nullable = false)
+	private Long quantity;
+
+	@Column(nullable = false)
+	private Double revenue;
+
+	@Column(nullable = false)
+	private Long orderCount;
+
+	public Long getId() {
+		return id;
+	}
+
+	public Product getProduct() {
+		return product;
+	}
+
+	public Long getQuantity() {
+		return quantity;
+	}
+
+	public Double getRevenue() {
+		return revenue;
+	}
+
+	public Long getOrderCount() {
+		return orderCount;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ProductStats other = (ProductStats) obj;
+		return Objects.equals(id, other.id);
+	}
+}
@@ -1,5 +1,8 @@
 package com.elissandro.hdcontrol.entities.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
 	PENDING,
 	SHIPPED,
@@ -8,4 +11,29 @@ public enum OrderStatus {
 	DELIVERED,
 	FINALIZED,
 	CANCELED;
+
+	/*
+	 * Taken from how the order screens move an order, not from a written
+	 * spec: the work flows PENDING, SHIPPED (sent out for repair), READY,
+	 * DELIVERED, FINALIZED. PAID can be reached from any open state, and the
+	 * status dialog moves between PENDING, READY and PAID both ways to fix
+	 * mistakes. A delivered order may still be paid. FINALIZED is terminal,
+	 * and a cancelled order can only be reopened as PENDING. Both PUT
+	 * /orders/{id} and PATCH /orders/status enforce it.
+	 */
+	public Set<OrderStatus> nextStatuses() {
+		return switch (this) {
+		case PENDING -> EnumSet.of(SHIPPED, READY, PAID, CANCELED);
+		case SHIPPED -> EnumSet.of(READY, DELIVERED, CANCELED);
+		case READY -> EnumSet.of(PENDING, PAID, DELIVERED, CANCELED);
+		case PAID -> EnumSet.of(PENDING, READY, DELIVERED, FINALIZED);
+		case DELIVERED -> EnumSet.of(PAID, FINALIZED);
+		case FINALIZED -> EnumSet.noneOf(OrderStatus.class);
+		case CANCELED -> EnumSet.of(PENDING);
+		};
+	}
+
+	public boolean canTransitionTo(OrderStatus target) {
+		return nextStatuses().contains(target);
+	}
 }
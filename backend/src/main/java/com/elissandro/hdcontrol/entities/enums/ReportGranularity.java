@@ -0,0 +1,27 @@
+package com.elissandro.hdcontrol.entities.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+public enum ReportGranularity {
+	DAY,
+	WEEK,
+	MONTH;
+
+	public LocalDate bucketOf(LocalDate date) {
+		return switch (this) {
+		case DAY -> date;
+		case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+		case MONTH -> date.withDayOfMonth(1);
+		};
+	}
+
+	public LocalDate next(LocalDate bucket) {
+		return switch (this) {
+		case DAY -> bucket.plusDays(1);
+		case WEEK -> bucket.plusWeeks(1);
+		case MONTH -> bucket.plusMonths(1);
+		};
+	}
+}
@@ -0,0 +1,50 @@
+package com.elissandro.hdcontrol.entities.pk;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import com.elissandro.hdcontrol.entities.ArchivedOrder;
+import com.elissandro.hdcontrol.entities.Product;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+
+@Embeddable
+public class ArchivedOrderItemPK implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@ManyToOne
+	@JoinColumn(name = "order_id")
+	private ArchivedOrder order;
+	@ManyToOne
+	@JoinColumn(name = "product_id")
+	private Product product;
+	public ArchivedOrder getOrder() {
+		return order;
+	}
+	public void setOrder(ArchivedOrder order) {
+		this.order = order;
+	}
+	public Product getProduct() {
+		return product;
+	}
+	public void setProduct(Product product) {
+		this.product = product;
+	}
+	@Override
+	public int hashCode() {
+		return Objects.hash(order, product);
+	}
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ArchivedOrderItemPK other = (ArchivedOrderItemPK) obj;
+		return Objects.equals(order, other.order) && Objects.equals(product, other.product);
+	}
+}
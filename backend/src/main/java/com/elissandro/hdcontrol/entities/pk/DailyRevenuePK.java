@@ -0,0 +1,47 @@
+package com.elissandro.hdcontrol.entities.pk;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+@Embeddable
+public class DailyRevenuePK implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private LocalDate revenueDate;
+	@Enumerated(EnumType.STRING)
+	private OrderStatus status;
+	public LocalDate getRevenueDate() {
+		return revenueDate;
+	}
+	public void setRevenueDate(LocalDate revenueDate) {
+		this.revenueDate = revenueDate;
+	}
+	public OrderStatus getStatus() {
+		return status;
+	}
+	public void setStatus(OrderStatus status) {
+		this.status = status;
+	}
+	@Override
+	public int hashCode() {
+		return Objects.hash(revenueDate, status);
+	}
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		DailyRevenuePK other = (DailyRevenuePK) obj;
+		return Objects.equals(revenueDate, other.revenueDate) && status == other.status;
+	}
+}
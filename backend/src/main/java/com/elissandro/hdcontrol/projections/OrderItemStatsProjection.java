@@ -0,0 +1,10 @@
+package com.elissandro.hdcontrol.projections;
+
+public interface OrderItemStatsProjection {
+
+	Long getOrderId();
+	Long getProductId();
+	String getBrand();
+	Integer getQuantity();
+	Double getPrice();
+}
@@ -0,0 +1,17 @@
+package com.elissandro.hdcontrol.projections;
+
+import java.time.LocalDate;
+
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+import com.elissandro.hdcontrol.entities.enums.PaymentStatus;
+
+public interface OrderStatusProjection {
+
+	Long getId();
+	Long getUserId();
+	OrderStatus getStatus();
+	LocalDate getDeliveryDate();
+	Double getTotal();
+	Integer getTotalQuantity();
+	PaymentStatus getPaymentStatus();
+}
@@ -0,0 +1,10 @@
+package com.elissandro.hdcontrol.projections;
+
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+
+public interface OrderStatusSummaryProjection {
+
+	OrderStatus getStatus();
+	Long getQuantity();
+	Double getTotal();
+}
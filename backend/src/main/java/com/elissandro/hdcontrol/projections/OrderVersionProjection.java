@@ -0,0 +1,8 @@
+package com.elissandro.hdcontrol.projections;
+
+public interface OrderVersionProjection {
+
+	Long getVersion();
+	Long getProductsVersion();
+	Long getUserVersion();
+}
@@ -0,0 +1,10 @@
+package com.elissandro.hdcontrol.projections;
+
+import com.elissandro.hdcontrol.entities.enums.PaymentStatus;
+
+public interface PaymentStatusSummaryProjection {
+
+	PaymentStatus getStatus();
+	Long getQuantity();
+	Double getTotal();
+}
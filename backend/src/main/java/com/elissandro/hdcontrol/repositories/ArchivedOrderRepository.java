@@ -0,0 +1,28 @@
+package com.elissandro.hdcontrol.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.elissandro.hdcontrol.entities.ArchivedOrder;
+
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+	@Query("SELECT DISTINCT obj FROM ArchivedOrder obj "
+			+ "JOIN FETCH obj.user "
+			+ "LEFT JOIN FETCH obj.items item "
+			+ "LEFT JOIN FETCH item.id.product "
+			+ "WHERE obj.id IN :ids")
+	List<ArchivedOrder> searchOrdersWithItems(Collection<Long> ids);
+
+	@Query("SELECT obj FROM ArchivedOrder obj "
+			+ "JOIN FETCH obj.user "
+			+ "LEFT JOIN FETCH obj.items item "
+			+ "LEFT JOIN FETCH item.id.product "
+			+ "WHERE obj.id = :id")
+	Optional<ArchivedOrder> findByIdWithItems(Long id);
+
+}
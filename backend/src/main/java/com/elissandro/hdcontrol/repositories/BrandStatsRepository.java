@@ -0,0 +1,16 @@
+package com.elissandro.hdcontrol.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.elissandro.hdcontrol.entities.BrandStats;
+
+public interface BrandStatsRepository extends JpaRepository<BrandStats, String> {
+
+	@Query("SELECT obj FROM BrandStats obj")
+	List<BrandStats> findTop(Pageable pageable);
+
+}
@@ -0,0 +1,9 @@
+package com.elissandro.hdcontrol.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.elissandro.hdcontrol.entities.ClientBalance;
+
+public interface ClientBalanceRepository extends JpaRepository<ClientBalance, Long> {
+
+}
@@ -0,0 +1,20 @@
+package com.elissandro.hdcontrol.repositories;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.elissandro.hdcontrol.entities.DailyRevenue;
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+import com.elissandro.hdcontrol.entities.pk.DailyRevenuePK;
+
+public interface DailyRevenueRepository extends JpaRepository<DailyRevenue, DailyRevenuePK> {
+
+	@Query("SELECT obj FROM DailyRevenue obj "
+			+ "WHERE obj.id.revenueDate BETWEEN :from AND :to AND obj.id.status IN :statuses")
+	List<DailyRevenue> search(LocalDate from, LocalDate to, Collection<OrderStatus> statuses);
+
+}
@@ -0,0 +1,55 @@
+package com.elissandro.hdcontrol.repositories;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/*
+ * Test profile fallback on H2's native full-text index, created in import.sql.
+ * H2 maintains it through triggers on TB_ORDER; every hit scores the same, so
+ * results are ranked newest first.
+ */
+@Repository
+@Profile("test")
+public class H2OrderTextSearchRepository implements OrderTextSearchRepository {
+
+	private static final String FROM = " FROM FT_SEARCH_DATA(:text, 0, 0) ft"
+			+ " JOIN TB_ORDER obj ON obj.ID = CAST(ft.KEYS[1] AS BIGINT)"
+			+ " WHERE ft.\"TABLE\" = 'TB_ORDER'";
+
+	@PersistenceContext
+	private EntityManager em;
+
+	@Override
+	public Page<Long> searchOrderIdsByText(String text, Integer userId, Pageable pageable) {
+		String where = userId != null ? " AND obj.USER_ID = :userId" : "";
+
+		Query query = em.createNativeQuery("SELECT obj.ID" + FROM + where
+				+ " ORDER BY ft.SCORE DESC, obj.ID DESC", Long.class);
+		bind(query, text, userId);
+		@SuppressWarnings("unchecked")
+		List<Long> ids = query.setFirstResult((int) pageable.getOffset())
+				.setMaxResults(pageable.getPageSize()).getResultList();
+
+		return PageableExecutionUtils.getPage(ids, pageable, () -> {
+			Query count = em.createNativeQuery("SELECT COUNT(*)" + FROM + where, Long.class);
+			bind(count, text, userId);
+			return (Long) count.getSingleResult();
+		});
+	}
+
+	private void bind(Query query, String text, Integer userId) {
+		query.setParameter("text", text);
+		if (userId != null) {
+			query.setParameter("userId", userId);
+		}
+	}
+}
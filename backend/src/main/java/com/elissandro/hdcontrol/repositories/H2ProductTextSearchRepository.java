@@ -0,0 +1,245 @@
+package com.elissandro.hdcontrol.repositories;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.elissandro.hdcontrol.dtos.BrandCountDTO;
+import com.elissandro.hdcontrol.services.ProductChangeEvent;
+import com.elissandro.hdcontrol.services.TextNormalizer;
+
+/*
+ * Test profile fallback: H2 has no trigram index, so one is kept in memory,
+ * built the way pg_trgm builds it (lower case, accents stripped, words padded
+ * with two spaces in front and one behind) and ranked by the same similarity.
+ * It is loaded on first use and patched after each committed product write.
+ */
+@Repository
+@Profile("test")
+public class H2ProductTextSearchRepository implements ProductTextSearchRepository {
+
+	private static final double SIMILARITY_THRESHOLD = 0.3;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/*
+	 * Entries live in dense slots so that postings are plain int arrays and the
+	 * per-query counters one int[]. A changed product takes a new slot; the old
+	 * one is emptied and skipped until the next full load.
+	 */
+	private final List<Entry> slots = new ArrayList<>();
+	private final Map<Long, Integer> slotById = new HashMap<>();
+	private final Map<String, Postings> postings = new HashMap<>();
+	private int[] shared = new int[0];
+	private boolean loaded;
+
+	@Override
+	public synchronized Page<Long> searchProductIdsByName(String name, String brand, Pageable pageable) {
+		int limit = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+		PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.reverseOrder());
+		int[] total = new int[1];
+		match(name, hit -> {
+			if (brand != null && !brand.equals(hit.entry.brand)) {
+				return;
+			}
+			total[0]++;
+			if (top.size() < limit) {
+				top.add(hit);
+			} else if (limit > 0 && hit.compareTo(top.peek()) < 0) {
+				top.poll();
+				top.add(hit);
+			}
+		});
+
+		List<Hit> hits = new ArrayList<>(top);
+		Collections.sort(hits);
+		int from = (int) Math.min(pageable.getOffset(), hits.size());
+		List<Long> ids = hits.subList(from, hits.size()).stream().map(hit -> hit.entry.id).toList();
+		return new PageImpl<>(ids, pageable, total[0]);
+	}
+
+	@Override
+	public synchronized List<BrandCountDTO> countBrandsByName(String name) {
+		// Postgres sorts a null brand last
+		Map<String, Long> counts = new TreeMap<>(Comparator.nullsLast(Comparator.naturalOrder()));
+		match(name, hit -> counts.merge(hit.entry.brand, 1L, Long::sum));
+		return counts.entrySet().stream().map(e -> new BrandCountDTO(e.getKey(), e.getValue())).toList();
+	}
+
+	private void match(String name, Consumer<Hit> consumer) {
+		load();
+		Entry query = new Entry(null, name, null);
+		int required = query.requiredTrigrams();
+
+		if (shared.length < slots.size()) {
+			shared = new int[slots.size()];
+		}
+		Postings touched = new Postings();
+		for (String trigram : query.trigrams) {
+			Postings list = postings.get(trigram);
+			for (int i = 0; list != null && i < list.size; i++) {
+				int slot = list.slots[i];
+				if (shared[slot]++ == 0) {
+					touched.add(slot);
+				}
+			}
+		}
+
+		// Shorter texts may sit inside a word without sharing a trigram with it
+		boolean scan = query.name.length() < 3;
+		for (int i = 0, n = scan ? slots.size() : touched.size; i < n; i++) {
+			int slot = scan ? i : touched.slots[i];
+			Entry entry = slots.get(slot);
+			int common = shared[slot];
+			shared[slot] = 0;
+			if (entry == null) {
+				continue;
+			}
+			double similarity = (double) common / (query.trigrams.size() + entry.trigrams.size() - common);
+			if (similarity >= SIMILARITY_THRESHOLD || (common >= required && entry.name.contains(query.name))) {
+				consumer.accept(new Hit(entry, similarity));
+			}
+		}
+		if (scan) {
+			for (int i = 0; i < touched.size; i++) {
+				shared[touched.slots[i]] = 0;
+			}
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onProductChange(ProductChangeEvent event) {
+		if (!loaded) {
+			return;
+		}
+		if (event.getProductId() == null) {
+			loaded = false;
+			return;
+		}
+		Integer slot = slotById.remove(event.getProductId());
+		if (slot != null) {
+			slots.set(slot, null);
+		}
+		jdbcTemplate.query("SELECT id, name, brand FROM tb_product WHERE id = ?",
+				rs -> { add(new Entry(rs.getLong(1), rs.getString(2), rs.getString(3))); }, event.getProductId());
+	}
+
+	private void load() {
+		if (!loaded) {
+			slots.clear();
+			slotById.clear();
+			postings.clear();
+			jdbcTemplate.query("SELECT id, name, brand FROM tb_product",
+					rs -> { add(new Entry(rs.getLong(1), rs.getString(2), rs.getString(3))); });
+			loaded = true;
+		}
+	}
+
+	private void add(Entry entry) {
+		int slot = slots.size();
+		slots.add(entry);
+		slotById.put(entry.id, slot);
+		for (String trigram : entry.trigrams) {
+			postings.computeIfAbsent(trigram, x -> new Postings()).add(slot);
+		}
+	}
+
+	private static class Entry {
+
+		private final Long id;
+		private final String name;
+		private final String brand;
+		private final Set<String> trigrams = new HashSet<>();
+
+		Entry(Long id, String name, String brand) {
+			this.id = id;
+			this.name = TextNormalizer.normalize(name);
+			this.brand = brand;
+			for (String word : words()) {
+				trigrams.addAll(trigrams(word, true, true));
+			}
+		}
+
+		private List<String> words() {
+			return Arrays.stream(name.split("[^\\p{L}\\p{N}]+")).filter(word -> !word.isEmpty()).toList();
+		}
+
+		/*
+		 * How many of these trigrams every name containing this text must
+		 * have: its first word may be the tail of a longer word and its last
+		 * word the head of one, so their outer padded trigrams do not count.
+		 */
+		int requiredTrigrams() {
+			List<String> words = words();
+			Set<String> required = new HashSet<>();
+			for (int i = 0; i < words.size(); i++) {
+				required.addAll(trigrams(words.get(i), i > 0, i < words.size() - 1));
+			}
+			return required.size();
+		}
+	}
+
+	private static Set<String> trigrams(String word, boolean padStart, boolean padEnd) {
+		Set<String> trigrams = new HashSet<>();
+		String padded = (padStart ? "  " : "") + word + (padEnd ? " " : "");
+		for (int i = 0; i + 3 <= padded.length(); i++) {
+			trigrams.add(padded.substring(i, i + 3));
+		}
+		return trigrams;
+	}
+
+	private static class Postings {
+
+		private int[] slots = new int[4];
+		private int size;
+
+		void add(int slot) {
+			if (size == slots.length) {
+				slots = Arrays.copyOf(slots, size * 2);
+			}
+			slots[size++] = slot;
+		}
+	}
+
+	/*
+	 * Most similar first, then by name and id like the Postgres query.
+	 */
+	private static class Hit implements Comparable<Hit> {
+
+		private final Entry entry;
+		private final double similarity;
+
+		Hit(Entry entry, double similarity) {
+			this.entry = entry;
+			this.similarity = similarity;
+		}
+
+		@Override
+		public int compareTo(Hit other) {
+			int result = Double.compare(other.similarity, similarity);
+			if (result == 0) {
+				result = entry.name.compareTo(other.entry.name);
+			}
+			return result != 0 ? result : entry.id.compareTo(other.entry.id);
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package com.elissandro.hdcontrol.repositories;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/*
+ * Test profile fallback: H2 has no ON CONFLICT, but runs the standard MERGE.
+ */
+@Repository
+@Profile("test")
+public class H2ReportUpsertRepository implements ReportUpsertRepository {
+
+	private static final String UPSERT_DAILY_REVENUE = "MERGE INTO tb_daily_revenue t "
+			+ "USING (VALUES (CAST(? AS DATE), CAST(? AS VARCHAR), CAST(? AS BIGINT), CAST(? AS BIGINT), "
+			+ "CAST(? AS DOUBLE PRECISION), CAST(? AS DOUBLE PRECISION))) "
+			+ "s (revenue_date, status, order_count, quantity, revenue, paid_revenue) "
+			+ "ON t.revenue_date = s.revenue_date AND t.status = s.status "
+			+ "WHEN MATCHED THEN UPDATE SET order_count = t.order_count + s.order_count, quantity = t.quantity + s.quantity, "
+			+ "revenue = t.revenue + s.revenue, paid_revenue = t.paid_revenue + s.paid_revenue "
+			+ "WHEN NOT MATCHED THEN INSERT (revenue_date, status, order_count, quantity, revenue, paid_revenue) "
+			+ "VALUES (s.revenue_date, s.status, s.order_count, s.quantity, s.revenue, s.paid_revenue)";
+
+	private static final String UPSERT_PRODUCT_STATS = "MERGE INTO tb_product_stats t "
+			+ "USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS DOUBLE PRECISION), CAST(? AS BIGINT))) "
+			+ "s (product_id, quantity, revenue, order_count) "
+			+ "ON t.product_id = s.product_id "
+			+ "WHEN MATCHED THEN UPDATE SET quantity = t.quantity + s.quantity, revenue = t.revenue + s.revenue, "
+			+ "order_count = t.order_count + s.order_count "
+			+ "WHEN NOT MATCHED THEN INSERT (product_id, quantity, revenue, order_count) "
+			+ "VALUES (s.product_id, s.quantity, s.revenue, s.order_count)";
+
+	private static final String UPSERT_BRAND_STATS = "MERGE INTO tb_brand_stats t "
+			+ "USING (VALUES (CAST(? AS VARCHAR), CAST(? AS BIGINT), CAST(? AS DOUBLE PRECISION), CAST(? AS BIGINT))) "
+			+ "s (brand, quantity, revenue, order_count) "
+			+ "ON t.brand = s.brand "
+			+ "WHEN MATCHED THEN UPDATE SET quantity = t.quantity + s.quantity, revenue = t.revenue + s.revenue, "
+			+ "order_count = t.order_count + s.order_count "
+			+ "WHEN NOT MATCHED THEN INSERT (brand, quantity, revenue, order_count) "
+			+ "VALUES (s.brand, s.quantity, s.revenue, s.order_count)";
+
+	private static final String UPSERT_CLIENT_BALANCE = "MERGE INTO tb_client_balance t "
+			+ "USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS DOUBLE PRECISION), CAST(? AS DOUBLE PRECISION))) "
+			+ "s (user_id, order_count, total, paid_total) "
+			+ "ON t.user_id = s.user_id "
+			+ "WHEN MATCHED THEN UPDATE SET order_count = t.order_count + s.order_count, total = t.total + s.total, "
+			+ "paid_total = t.paid_total + s.paid_total "
+			+ "WHEN NOT MATCHED THEN INSERT (user_id, order_count, total, paid_total) "
+			+ "VALUES (s.user_id, s.order_count, s.total, s.paid_total)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Override
+	public void upsertDailyRevenue(List<Object[]> rows) {
+		jdbcTemplate.batchUpdate(UPSERT_DAILY_REVENUE, rows);
+	}
+
+	@Override
+	public void upsertProductStats(List<Object[]> rows) {
+		jdbcTemplate.batchUpdate(UPSERT_PRODUCT_STATS, rows);
+	}
+
+	@Override
+	public void upsertBrandStats(List<Object[]> rows) {
+		jdbcTemplate.batchUpdate(UPSERT_BRAND_STATS, rows);
+	}
+
+	@Override
+	public void upsertClientBalance(List<Object[]> rows) {
+		jdbcTemplate.batchUpdate(UPSERT_CLIENT_BALANCE, rows);
+	}
+
+	@Override
+	public void lockForRebuild(String table) {
+	}
+}
@@ -1,9 +1,20 @@
 package com.elissandro.hdcontrol.repositories;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.elissandro.hdcontrol.entities.OrderItem;
 import com.elissandro.hdcontrol.entities.pk.OrderItemPK;
+import com.elissandro.hdcontrol.projections.OrderItemStatsProjection;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItemPK> {
+
+	@Query("SELECT item.id.order.id AS orderId, product.id AS productId, product.brand AS brand, "
+			+ "item.quantity AS quantity, item.price AS price "
+			+ "FROM OrderItem item JOIN item.id.product product "
+			+ "WHERE item.id.order.id IN :orderIds")
+	List<OrderItemStatsProjection> findStatsByOrderIds(Collection<Long> orderIds);
 }
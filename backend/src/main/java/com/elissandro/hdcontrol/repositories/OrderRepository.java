@@ -1,28 +1,88 @@
 package com.elissandro.hdcontrol.repositories;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.elissandro.hdcontrol.entities.Order;
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+import com.elissandro.hdcontrol.projections.OrderStatusProjection;
+import com.elissandro.hdcontrol.projections.OrderStatusSummaryProjection;
+import com.elissandro.hdcontrol.projections.OrderVersionProjection;
+import com.elissandro.hdcontrol.projections.PaymentStatusSummaryProjection;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
 
-	@Query(value = "SELECT obj FROM Order obj JOIN FETCH obj.items WHERE obj.user.id = :userId",
-			countQuery = "SELECT COUNT(obj) FROM Order obj JOIN obj.items WHERE obj.user.id = :userId")
-	Page<Order> findAll(Pageable pageable, Integer userId);
+	@Query("SELECT DISTINCT obj FROM Order obj "
+			+ "JOIN FETCH obj.user "
+			+ "LEFT JOIN FETCH obj.payment "
+			+ "LEFT JOIN FETCH obj.items item "
+			+ "LEFT JOIN FETCH item.id.product "
+			+ "WHERE obj.id IN :ids")
+	List<Order> searchOrdersWithItems(List<Long> ids);
+	
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("SELECT obj FROM Order obj "
+			+ "JOIN FETCH obj.user "
+			+ "LEFT JOIN FETCH obj.payment "
+			+ "LEFT JOIN FETCH obj.items item "
+			+ "LEFT JOIN FETCH item.id.product "
+			+ "ORDER BY obj.id")
+	Stream<Order> streamAllWithItems();
 	
+	@Query("SELECT obj.version AS version, COALESCE(SUM(product.version), 0L) AS productsVersion, "
+			+ "user.version AS userVersion "
+			+ "FROM Order obj JOIN obj.user user LEFT JOIN obj.items item LEFT JOIN item.id.product product "
+			+ "WHERE obj.id = :id "
+			+ "GROUP BY obj.id, obj.version, user.version")
+	Optional<OrderVersionProjection> findVersionById(Long id);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT obj.id AS id, obj.user.id AS userId, obj.status AS status, obj.deliveryDate AS deliveryDate, "
+			+ "obj.total AS total, obj.totalQuantity AS totalQuantity, "
+			+ "(SELECT p.status FROM Payment p WHERE p.id = obj.id) AS paymentStatus "
+			+ "FROM Order obj WHERE obj.id IN :ids")
+	List<OrderStatusProjection> findStatusByIdsForUpdate(Collection<Long> ids);
+
+	@Query("SELECT obj.id AS id, obj.user.id AS userId, obj.status AS status, obj.deliveryDate AS deliveryDate, "
+			+ "obj.total AS total, obj.totalQuantity AS totalQuantity, "
+			+ "(SELECT p.status FROM Payment p WHERE p.id = obj.id) AS paymentStatus "
+			+ "FROM Order obj WHERE obj.id = :id")
+	Optional<OrderStatusProjection> findStatusById(Long id);
+
+	@Modifying
+	@Query("UPDATE Order obj SET obj.status = :status, obj.version = obj.version + 1, obj.updatedAt = :updatedAt WHERE obj.id IN :ids")
+	int updateStatus(Collection<Long> ids, OrderStatus status, Instant updatedAt);
+
 	@SuppressWarnings("null")
-	@Query("SELECT obj FROM Order obj JOIN FETCH obj.items WHERE obj.id = :id")
+	@Query("SELECT obj FROM Order obj LEFT JOIN FETCH obj.items WHERE obj.id = :id")
 	Optional<Order> findById(Long id);
-	
-	@Query(value = "SELECT obj FROM Order obj JOIN FETCH obj.items",
-			countQuery = "SELECT COUNT(obj) FROM Order obj JOIN obj.items")
-	Page<Order>findAllOrders(Pageable pageable);
 
+	@Query("SELECT obj.status AS status, COUNT(obj) AS quantity, COALESCE(SUM(obj.total), 0.0) AS total "
+			+ "FROM Order obj "
+			+ "WHERE (:userId IS NULL OR obj.user.id = :userId) "
+			+ "GROUP BY obj.status")
+	List<OrderStatusSummaryProjection> summarizeByStatus(Integer userId);
+
+	@Query("SELECT payment.status AS status, COUNT(obj) AS quantity, COALESCE(SUM(obj.total), 0.0) AS total "
+			+ "FROM Payment payment JOIN payment.order obj "
+			+ "WHERE (:userId IS NULL OR obj.user.id = :userId) "
+			+ "GROUP BY payment.status")
+	List<PaymentStatusSummaryProjection> summarizeByPaymentStatus(Integer userId);
 	
 }
@@ -0,0 +1,25 @@
+package com.elissandro.hdcontrol.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort.Direction;
+
+import com.elissandro.hdcontrol.dtos.OrderFilterDTO;
+import com.elissandro.hdcontrol.dtos.OrderListDTO;
+
+public interface OrderRepositoryCustom {
+
+	Page<Long> searchOrderIds(OrderFilterDTO filter, Pageable pageable);
+
+	Page<OrderListDTO> searchOrderList(OrderFilterDTO filter, Pageable pageable);
+
+	List<Object[]> searchOrderKeysAfter(OrderFilterDTO filter, String sortKey, Direction direction, boolean nullTail,
+			Object key, Long id, int limit);
+
+	List<OrderListDTO> searchChangedOrders(Integer userId, Instant after, Long afterId, Instant until, int limit);
+
+	List<OrderListDTO> searchLatestOrders(Long userId, int limit);
+}
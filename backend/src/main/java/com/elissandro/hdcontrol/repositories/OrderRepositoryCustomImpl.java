@@ -0,0 +1,186 @@
+package com.elissandro.hdcontrol.repositories;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.elissandro.hdcontrol.dtos.OrderFilterDTO;
+import com.elissandro.hdcontrol.dtos.OrderListDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+	private static final String LIST_SELECT = "SELECT new com.elissandro.hdcontrol.dtos.OrderListDTO(obj.id, obj.serviceDescription, "
+			+ "obj.deliveryDate, obj.status, user.id, user.firstName, user.lastName, payment.status, payment.moment, "
+			+ "obj.total, obj.totalQuantity, obj.updatedAt) "
+			+ "FROM Order obj JOIN obj.user user LEFT JOIN obj.payment payment";
+
+	private static final String ARCHIVE_LIST_SELECT = "SELECT new com.elissandro.hdcontrol.dtos.OrderListDTO(obj.id, obj.serviceDescription, "
+			+ "obj.deliveryDate, obj.status, user.id, user.firstName, user.lastName, obj.paymentStatus, obj.paymentMoment, "
+			+ "obj.total, obj.totalQuantity, obj.updatedAt) "
+			+ "FROM OrderView obj JOIN obj.user user";
+
+	@PersistenceContext
+	private EntityManager em;
+
+	@Override
+	public Page<Long> searchOrderIds(OrderFilterDTO filter, Pageable pageable) {
+		Map<String, Object> params = new HashMap<>();
+		String from = from(filter);
+		String where = where(filter, params);
+
+		String jpql = QueryUtils.applySorting("SELECT obj.id" + from + where, pageable.getSort(), "obj");
+		TypedQuery<Long> query = bind(em.createQuery(jpql, Long.class), params);
+		List<Long> ids = query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize()).getResultList();
+
+		return PageableExecutionUtils.getPage(ids, pageable, () -> count(from, where, params));
+	}
+
+	@Override
+	public Page<OrderListDTO> searchOrderList(OrderFilterDTO filter, Pageable pageable) {
+		Map<String, Object> params = new HashMap<>();
+		String where = where(filter, params);
+		String select = includeArchived(filter) ? ARCHIVE_LIST_SELECT : LIST_SELECT;
+
+		String jpql = QueryUtils.applySorting(select + where, pageable.getSort(), "obj");
+		TypedQuery<OrderListDTO> query = bind(em.createQuery(jpql, OrderListDTO.class), params);
+		List<OrderListDTO> list = query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize()).getResultList();
+
+		return PageableExecutionUtils.getPage(list, pageable, () -> count(from(filter), where, params));
+	}
+
+	/*
+	 * Keyset (seek) pagination: the next page starts right after (key, id) of the
+	 * last row already read, so no offset is scanned and no count is issued.
+	 * Orders without a delivery date sort last in both directions and are read
+	 * as a separate tail: the dated range seeks on (delivery_date, id), the tail
+	 * on id alone, and nullTail says which of the two is asked for. Rows are
+	 * [id, sort key], so the next cursor does not depend on the order still
+	 * being there when it is fetched.
+	 */
+	@Override
+	public List<Object[]> searchOrderKeysAfter(OrderFilterDTO filter, String sortKey, Direction direction, boolean nullTail,
+			Object key, Long id, int limit) {
+		String op = direction.isAscending() ? ">" : "<";
+		String dir = direction.isAscending() ? "ASC" : "DESC";
+		boolean byId = "id".equals(sortKey);
+
+		Map<String, Object> params = new HashMap<>();
+		StringBuilder jpql = new StringBuilder("SELECT obj.id, obj.").append(sortKey).append(" FROM Order obj")
+				.append(where(filter, params));
+		if (!byId) {
+			jpql.append(" AND obj.").append(sortKey).append(nullTail ? " IS NULL" : " IS NOT NULL");
+		}
+		if (id != null) {
+			params.put("id", id);
+			if (byId || nullTail) {
+				jpql.append(" AND obj.id ").append(op).append(" :id");
+			} else {
+				params.put("key", key);
+				jpql.append(" AND (obj.").append(sortKey).append(", obj.id) ").append(op).append(" (:key, :id)");
+			}
+		}
+		if (byId || nullTail) {
+			jpql.append(" ORDER BY obj.id ").append(dir);
+		} else {
+			jpql.append(" ORDER BY obj.").append(sortKey).append(" ").append(dir).append(", obj.id ").append(dir);
+		}
+
+		return bind(em.createQuery(jpql.toString(), Object[].class), params).setMaxResults(limit).getResultList();
+	}
+
+	/*
+	 * Same seek as above on (updatedAt, id), bounded by the sync horizon so a
+	 * client never receives a row newer than the token it is handed back.
+	 */
+	@Override
+	public List<OrderListDTO> searchChangedOrders(Integer userId, Instant after, Long afterId, Instant until, int limit) {
+		Map<String, Object> params = new HashMap<>();
+		params.put("after", after);
+		params.put("afterId", afterId);
+		params.put("until", until);
+		StringBuilder jpql = new StringBuilder(LIST_SELECT)
+				.append(" WHERE (obj.updatedAt > :after OR (obj.updatedAt = :after AND obj.id > :afterId))")
+				.append(" AND obj.updatedAt <= :until");
+		if (userId != null) {
+			jpql.append(" AND user.id = :userId");
+			params.put("userId", userId);
+		}
+		jpql.append(" ORDER BY obj.updatedAt, obj.id");
+
+		return bind(em.createQuery(jpql.toString(), OrderListDTO.class), params).setMaxResults(limit).getResultList();
+	}
+
+	/*
+	 * Newest first on (user_id, id); hot orders only, the archive holds the
+	 * oldest ones.
+	 */
+	@Override
+	public List<OrderListDTO> searchLatestOrders(Long userId, int limit) {
+		return em.createQuery(LIST_SELECT + " WHERE user.id = :userId ORDER BY obj.id DESC", OrderListDTO.class)
+				.setParameter("userId", userId).setMaxResults(limit).getResultList();
+	}
+
+	private String where(OrderFilterDTO filter, Map<String, Object> params) {
+		StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+		if (filter.getUserId() != null) {
+			where.append(" AND obj.user.id = :userId");
+			params.put("userId", filter.getUserId());
+		}
+		if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+			where.append(" AND obj.status IN :status");
+			params.put("status", filter.getStatus());
+		}
+		if (filter.getDeliveryDateFrom() != null) {
+			where.append(" AND obj.deliveryDate >= :deliveryDateFrom");
+			params.put("deliveryDateFrom", filter.getDeliveryDateFrom());
+		}
+		if (filter.getDeliveryDateTo() != null) {
+			where.append(" AND obj.deliveryDate <= :deliveryDateTo");
+			params.put("deliveryDateTo", filter.getDeliveryDateTo());
+		}
+		if (filter.getMinTotal() != null) {
+			where.append(" AND obj.total >= :minTotal");
+			params.put("minTotal", filter.getMinTotal());
+		}
+		if (filter.getMaxTotal() != null) {
+			where.append(" AND obj.total <= :maxTotal");
+			params.put("maxTotal", filter.getMaxTotal());
+		}
+		if (filter.getHasPayment() != null && includeArchived(filter)) {
+			where.append(" AND obj.hasPayment = :hasPayment");
+			params.put("hasPayment", filter.getHasPayment());
+		} else if (filter.getHasPayment() != null) {
+			where.append(filter.getHasPayment() ? " AND" : " AND NOT")
+					.append(" EXISTS (SELECT 1 FROM Payment p WHERE p.id = obj.id)");
+		}
+		return where.toString();
+	}
+
+	private String from(OrderFilterDTO filter) {
+		return includeArchived(filter) ? " FROM OrderView obj" : " FROM Order obj";
+	}
+
+	private boolean includeArchived(OrderFilterDTO filter) {
+		return Boolean.TRUE.equals(filter.getIncludeArchived());
+	}
+
+	private Long count(String from, String where, Map<String, Object> params) {
+		return bind(em.createQuery("SELECT COUNT(obj)" + from + where, Long.class), params).getSingleResult();
+	}
+
+	private <T> TypedQuery<T> bind(TypedQuery<T> query, Map<String, Object> params) {
+		params.forEach(query::setParameter);
+		return query;
+	}
+}
@@ -0,0 +1,9 @@
+package com.elissandro.hdcontrol.repositories;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface OrderTextSearchRepository {
+
+	Page<Long> searchOrderIdsByText(String text, Integer userId, Pageable pageable);
+}
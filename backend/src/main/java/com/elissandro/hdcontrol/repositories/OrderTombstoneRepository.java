@@ -0,0 +1,21 @@
+package com.elissandro.hdcontrol.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.elissandro.hdcontrol.entities.OrderTombstone;
+
+@Repository
+public interface OrderTombstoneRepository extends JpaRepository<OrderTombstone, Long> {
+
+	@Query("SELECT obj.orderId FROM OrderTombstone obj "
+			+ "WHERE obj.deletedAt > :after AND obj.deletedAt <= :until "
+			+ "AND (:userId IS NULL OR obj.userId = :userId) "
+			+ "ORDER BY obj.deletedAt, obj.orderId")
+	List<Long> findDeletedOrderIds(Integer userId, Instant after, Instant until);
+
+}
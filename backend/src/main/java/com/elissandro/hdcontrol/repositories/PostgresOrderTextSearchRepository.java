@@ -0,0 +1,54 @@
+package com.elissandro.hdcontrol.repositories;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/*
+ * Ranked search over tb_order.search_vector, a stored generated tsvector column
+ * backed by a GIN index (db/postgresql/002-order-search.sql). Postgres keeps the
+ * column in sync on every insert and update, so OrderService needs no extra writes.
+ */
+@Repository
+@Profile("!test")
+public class PostgresOrderTextSearchRepository implements OrderTextSearchRepository {
+
+	private static final String FROM = " FROM tb_order obj, websearch_to_tsquery('portuguese', :text) query"
+			+ " WHERE obj.search_vector @@ query";
+
+	@PersistenceContext
+	private EntityManager em;
+
+	@Override
+	public Page<Long> searchOrderIdsByText(String text, Integer userId, Pageable pageable) {
+		String where = userId != null ? " AND obj.user_id = :userId" : "";
+
+		Query query = em.createNativeQuery("SELECT obj.id" + FROM + where
+				+ " ORDER BY ts_rank(obj.search_vector, query) DESC, obj.id DESC", Long.class);
+		bind(query, text, userId);
+		@SuppressWarnings("unchecked")
+		List<Long> ids = query.setFirstResult((int) pageable.getOffset())
+				.setMaxResults(pageable.getPageSize()).getResultList();
+
+		return PageableExecutionUtils.getPage(ids, pageable, () -> {
+			Query count = em.createNativeQuery("SELECT COUNT(*)" + FROM + where, Long.class);
+			bind(count, text, userId);
+			return (Long) count.getSingleResult();
+		});
+	}
+
+	private void bind(Query query, String text, Integer userId) {
+		query.setParameter("text", text);
+		if (userId != null) {
+			query.setParameter("userId", userId);
+		}
+	}
+}
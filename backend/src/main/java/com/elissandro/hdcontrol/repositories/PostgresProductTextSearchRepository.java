@@ -0,0 +1,71 @@
+package com.elissandro.hdcontrol.repositories;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import com.elissandro.hdcontrol.dtos.BrandCountDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/*
+ * Trigram search over the unaccented, lower-cased product name, backed by the
+ * GIN expression index of db/postgresql/010-product-search.sql. Both the
+ * substring LIKE and the % similarity operator are answered from the index;
+ * the expression must stay identical to the indexed one.
+ */
+@Repository
+@Profile("!test")
+public class PostgresProductTextSearchRepository implements ProductTextSearchRepository {
+
+	private static final String NAME = "hd_unaccent(lower(obj.name))";
+
+	private static final String FROM = " FROM tb_product obj, hd_unaccent(lower(:name)) query"
+			+ " WHERE (" + NAME + " LIKE '%' || hd_unaccent(lower(:pattern)) || '%' OR " + NAME + " % query)";
+
+	@PersistenceContext
+	private EntityManager em;
+
+	@Override
+	public Page<Long> searchProductIdsByName(String name, String brand, Pageable pageable) {
+		String from = brand == null ? FROM : FROM + " AND obj.brand = :brand";
+		Query query = em.createNativeQuery("SELECT obj.id" + from
+				+ " ORDER BY similarity(" + NAME + ", query) DESC, obj.name, obj.id", Long.class);
+		bind(query, name, brand);
+		@SuppressWarnings("unchecked")
+		List<Long> ids = query.setFirstResult((int) pageable.getOffset())
+				.setMaxResults(pageable.getPageSize()).getResultList();
+
+		return PageableExecutionUtils.getPage(ids, pageable, () -> {
+			Query count = em.createNativeQuery("SELECT COUNT(*)" + from, Long.class);
+			bind(count, name, brand);
+			return (Long) count.getSingleResult();
+		});
+	}
+
+	@Override
+	public List<BrandCountDTO> countBrandsByName(String name) {
+		Query query = em.createNativeQuery("SELECT obj.brand, COUNT(*)" + FROM + " GROUP BY obj.brand ORDER BY obj.brand");
+		bind(query, name, null);
+		@SuppressWarnings("unchecked")
+		List<Object[]> rows = query.getResultList();
+		return rows.stream().map(row -> new BrandCountDTO((String) row[0], ((Number) row[1]).longValue())).toList();
+	}
+
+	/*
+	 * LIKE wildcards typed by the user are matched literally.
+	 */
+	private void bind(Query query, String name, String brand) {
+		query.setParameter("name", name);
+		query.setParameter("pattern", name.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_"));
+		if (brand != null) {
+			query.setParameter("brand", brand);
+		}
+	}
+}
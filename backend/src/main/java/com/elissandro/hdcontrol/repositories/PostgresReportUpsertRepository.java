@@ -0,0 +1,74 @@
+package com.elissandro.hdcontrol.repositories;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("!test")
+public class PostgresReportUpsertRepository implements ReportUpsertRepository {
+
+	private static final String UPSERT_DAILY_REVENUE = "INSERT INTO tb_daily_revenue "
+			+ "(revenue_date, status, order_count, quantity, revenue, paid_revenue) VALUES (?, ?, ?, ?, ?, ?) "
+			+ "ON CONFLICT (revenue_date, status) DO UPDATE SET "
+			+ "order_count = tb_daily_revenue.order_count + EXCLUDED.order_count, "
+			+ "quantity = tb_daily_revenue.quantity + EXCLUDED.quantity, "
+			+ "revenue = tb_daily_revenue.revenue + EXCLUDED.revenue, "
+			+ "paid_revenue = tb_daily_revenue.paid_revenue + EXCLUDED.paid_revenue";
+
+	private static final String UPSERT_PRODUCT_STATS = "INSERT INTO tb_product_stats "
+			+ "(product_id, quantity, revenue, order_count) VALUES (?, ?, ?, ?) "
+			+ "ON CONFLICT (product_id) DO UPDATE SET "
+			+ "quantity = tb_product_stats.quantity + EXCLUDED.quantity, "
+			+ "revenue = tb_product_stats.revenue + EXCLUDED.revenue, "
+			+ "order_count = tb_product_stats.order_count + EXCLUDED.order_count";
+
+	private static final String UPSERT_BRAND_STATS = "INSERT INTO tb_brand_stats "
+			+ "(brand, quantity, revenue, order_count) VALUES (?, ?, ?, ?) "
+			+ "ON CONFLICT (brand) DO UPDATE SET "
+			+ "quantity = tb_brand_stats.quantity + EXCLUDED.quantity, "
+			+ "revenue = tb_brand_stats.revenue + EXCLUDED.revenue, "
+			+ "order_count = tb_brand_stats.order_count + EXCLUDED.order_count";
+
+	private static final String UPSERT_CLIENT_BALANCE = "INSERT INTO tb_client_balance "
+			+ "(user_id, order_count, total, paid_total) VALUES (?, ?, ?, ?) "
+			+ "ON CONFLICT (user_id) DO UPDATE SET "
+			+ "order_count = tb_client_balance.order_count + EXCLUDED.order_count, "
+			+ "total = tb_client_balance.total + EXCLUDED.total, "
+			+ "paid_total = tb_client_balance.paid_total + EXCLUDED.paid_total";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Override
+	public void upsertDailyRevenue(List<Object[]> rows) {
+		jdbcTemplate.batchUpdate(UPSERT_DAILY_REVENUE, rows);
+	}
+
+	@Override
+	public void upsertProductStats(List<Object[]> rows) {
+		jdbcTemplate.batchUpdate(UPSERT_PRODUCT_STATS, rows);
+	}
+
+	@Override
+	public void upsertBrandStats(List<Object[]> rows) {
+		jdbcTemplate.batchUpdate(UPSERT_BRAND_STATS, rows);
+	}
+
+	@Override
+	public void upsertClientBalance(List<Object[]> rows) {
+		jdbcTemplate.batchUpdate(UPSERT_CLIENT_BALANCE, rows);
+	}
+
+	/*
+	 * Waits for writers holding rollup rows and blocks new ones until the
+	 * rebuild commits, so no delta lands on rows about to be replaced.
+	 */
+	@Override
+	public void lockForRebuild(String table) {
+		jdbcTemplate.execute("LOCK TABLE " + table + " IN EXCLUSIVE MODE");
+	}
+}
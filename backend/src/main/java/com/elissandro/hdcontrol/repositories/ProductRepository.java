@@ -1,15 +1,24 @@
 package com.elissandro.hdcontrol.repositories;
 
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import com.elissandro.hdcontrol.dtos.BrandCountDTO;
 import com.elissandro.hdcontrol.entities.Product;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
-	
 
-	@Query("SELECT obj FROM Product obj WHERE LOWER(obj.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-	Page<Product> findProductByName(String name, Pageable pageable);
+	Page<Product> findByBrand(String brand, Pageable pageable);
+
+	@Query("SELECT new com.elissandro.hdcontrol.dtos.BrandCountDTO(obj.brand, COUNT(obj)) FROM Product obj "
+			+ "GROUP BY obj.brand ORDER BY obj.brand")
+	List<BrandCountDTO> countByBrand();
+
+	@Query("SELECT obj.version FROM Product obj WHERE obj.id = :id")
+	Optional<Long> findVersionById(Long id);
 }
@@ -0,0 +1,16 @@
+package com.elissandro.hdcontrol.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.elissandro.hdcontrol.entities.ProductStats;
+
+public interface ProductStatsRepository extends JpaRepository<ProductStats, Long> {
+
+	@Query("SELECT obj FROM ProductStats obj JOIN FETCH obj.product")
+	List<ProductStats> findTop(Pageable pageable);
+
+}
@@ -0,0 +1,23 @@
+package com.elissandro.hdcontrol.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.elissandro.hdcontrol.dtos.BrandCountDTO;
+
+public interface ProductTextSearchRepository {
+
+	/*
+	 * Ids of the products whose name contains the text, or is close to it,
+	 * ignoring case and accents; most similar first. A brand, when given,
+	 * narrows the match to that brand.
+	 */
+	Page<Long> searchProductIdsByName(String name, String brand, Pageable pageable);
+
+	/*
+	 * Products per brand among the same name matches, in brand order.
+	 */
+	List<BrandCountDTO> countBrandsByName(String name);
+}
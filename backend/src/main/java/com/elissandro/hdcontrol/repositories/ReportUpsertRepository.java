@@ -0,0 +1,31 @@
+package com.elissandro.hdcontrol.repositories;
+
+import java.util.List;
+
+/*
+ * Adds deltas to the report rollups, inserting the row when it does not exist.
+ */
+public interface ReportUpsertRepository {
+
+	/*
+	 * Each row is { revenue_date, status, order_count, quantity, revenue, paid_revenue }.
+	 */
+	void upsertDailyRevenue(List<Object[]> rows);
+
+	/*
+	 * Each row is { product_id, quantity, revenue, order_count }.
+	 */
+	void upsertProductStats(List<Object[]> rows);
+
+	/*
+	 * Each row is { brand, quantity, revenue, order_count }.
+	 */
+	void upsertBrandStats(List<Object[]> rows);
+
+	/*
+	 * Each row is { user_id, order_count, total, paid_total }.
+	 */
+	void upsertClientBalance(List<Object[]> rows);
+
+	void lockForRebuild(String table);
+}
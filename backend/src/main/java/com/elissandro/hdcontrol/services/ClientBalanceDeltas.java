@@ -0,0 +1,57 @@
+package com.elissandro.hdcontrol.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.elissandro.hdcontrol.entities.Order;
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+import com.elissandro.hdcontrol.entities.enums.PaymentStatus;
+
+/*
+ * Collects the client balance changes of one transaction, the same way
+ * RevenueDeltas does for the daily rollup. Cancelled orders neither count nor
+ * are owed. Rows come out in user order, so concurrent writers lock them in
+ * the same order.
+ */
+public class ClientBalanceDeltas {
+
+	private final Map<Long, double[]> clients = new TreeMap<>();
+
+	public void add(Order order) {
+		add(order, 1);
+	}
+
+	public void remove(Order order) {
+		add(order, -1);
+	}
+
+	private void add(Order order, int sign) {
+		boolean paid = order.getPayment() != null && order.getPayment().getStatus() == PaymentStatus.PAID;
+		Long userId = order.getUser() == null ? null : order.getUser().getId();
+		add(userId, order.getStatus(), order.getTotal(), paid, sign);
+	}
+
+	public void add(Long userId, OrderStatus status, Double total, boolean paid, int sign) {
+		if (userId == null || status == OrderStatus.CANCELED) {
+			return;
+		}
+		double revenue = total == null ? 0.0 : total;
+		double[] client = clients.computeIfAbsent(userId, x -> new double[3]);
+		client[0] += sign;
+		client[1] += sign * revenue;
+		client[2] += paid ? sign * revenue : 0.0;
+	}
+
+	List<Object[]> rows() {
+		List<Object[]> rows = new ArrayList<>();
+		clients.forEach((userId, delta) -> {
+			if (delta[0] != 0 || delta[1] != 0 || delta[2] != 0) {
+				rows.add(new Object[] { userId, (long) delta[0], delta[1], delta[2] });
+			}
+		});
+		return rows;
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.elissandro.hdcontrol.services;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.elissandro.hdcontrol.dtos.ClientStatementDTO;
+import com.elissandro.hdcontrol.dtos.OrderListDTO;
+import com.elissandro.hdcontrol.entities.ClientBalance;
+import com.elissandro.hdcontrol.entities.User;
+import com.elissandro.hdcontrol.entities.enums.PaymentStatus;
+import com.elissandro.hdcontrol.repositories.ClientBalanceRepository;
+import com.elissandro.hdcontrol.repositories.OrderRepository;
+import com.elissandro.hdcontrol.repositories.ReportUpsertRepository;
+import com.elissandro.hdcontrol.repositories.UserRepository;
+import com.elissandro.hdcontrol.services.exceptions.ResourceNotFoundException;
+
+@Service
+public class ClientBalanceService {
+
+	private static final int DEFAULT_LATEST = 10;
+	private static final int MAX_LATEST = 100;
+
+	private static final String REBUILD = "INSERT INTO tb_client_balance (user_id, order_count, total, paid_total) "
+			+ "SELECT user_id, COUNT(*), SUM(total), SUM(CASE WHEN payment_status = ? THEN total ELSE 0 END) FROM ("
+			+ "SELECT o.user_id, o.status, o.total, p.status AS payment_status "
+			+ "FROM tb_order o LEFT JOIN tb_payment p ON p.order_id = o.id "
+			+ "UNION ALL "
+			+ "SELECT a.user_id, a.status, a.total, a.payment_status FROM tb_order_archive a"
+			+ ") t WHERE user_id IS NOT NULL AND (status IS NULL OR status <> 'CANCELED') "
+			+ "GROUP BY user_id";
+
+	@Autowired
+	private ClientBalanceRepository repository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private ReportUpsertRepository upsertRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/*
+	 * One balance row and the newest orders off (user_id, id): the cost does
+	 * not grow with the client's history.
+	 */
+	@Transactional(readOnly = true)
+	public ClientStatementDTO findStatement(Long userId, Integer latest) {
+		if (latest != null && latest < 0) {
+			throw new IllegalArgumentException("latest must not be negative");
+		}
+		int size = latest == null ? DEFAULT_LATEST : Math.min(latest, MAX_LATEST);
+		Optional<ClientBalance> balance = repository.findById(userId);
+		User user = balance.map(ClientBalance::getUser).orElseGet(() -> userRepository.findById(userId)
+				.orElseThrow(() -> new ResourceNotFoundException("Entity not found")));
+		List<OrderListDTO> orders = size == 0 ? List.of() : orderRepository.searchLatestOrders(userId, size);
+		return new ClientStatementDTO(user, balance.orElse(null), orders);
+	}
+
+	/*
+	 * Runs inside the caller's transaction, so the balances commit or roll back
+	 * together with the orders and payments they describe.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void apply(ClientBalanceDeltas deltas) {
+		List<Object[]> rows = deltas.rows();
+		if (!rows.isEmpty()) {
+			upsertRepository.upsertClientBalance(rows);
+		}
+	}
+
+	/*
+	 * A balance left at zero by cancelled or deleted orders would keep the
+	 * user from being deleted.
+	 */
+	public void userDeleted(Long userId) {
+		jdbcTemplate.update("DELETE FROM tb_client_balance WHERE user_id = ? AND order_count = 0", userId);
+	}
+
+	@Transactional
+	public int rebuild() {
+		upsertRepository.lockForRebuild("tb_client_balance");
+		jdbcTemplate.update("DELETE FROM tb_client_balance");
+		return jdbcTemplate.update(REBUILD, PaymentStatus.PAID.ordinal());
+	}
+
+}
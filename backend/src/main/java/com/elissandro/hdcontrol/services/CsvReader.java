@@ -0,0 +1,91 @@
+package com.elissandro.hdcontrol.services;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Minimal RFC 4180 reader: quoted fields may hold commas, doubled quotes and
+ * line breaks. Records are read one at a time, so the input is never buffered
+ * as a whole.
+ */
+public class CsvReader {
+
+	private final Reader reader;
+	private long line = 1;
+	private long recordLine;
+	private int pending = -1;
+
+	public CsvReader(Reader reader) {
+		this.reader = reader;
+	}
+
+	public List<String> next() throws IOException {
+		int c = read();
+		while (c == '\r' || c == '\n') {
+			c = read();
+		}
+		if (c == -1) {
+			return null;
+		}
+		recordLine = line;
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		while (true) {
+			if (quoted) {
+				if (c == -1) {
+					throw new IOException("Unterminated quoted field starting at line " + recordLine);
+				}
+				if (c == '"') {
+					int n = read();
+					if (n == '"') {
+						field.append('"');
+					} else {
+						quoted = false;
+						c = n;
+						continue;
+					}
+				} else {
+					field.append((char) c);
+				}
+			} else if (c == '"' && field.length() == 0) {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else if (c == '\r' || c == '\n' || c == -1) {
+				if (c == '\r') {
+					int n = read();
+					if (n != '\n') {
+						pending = n;
+					}
+				}
+				fields.add(field.toString());
+				return fields;
+			} else {
+				field.append((char) c);
+			}
+			c = read();
+		}
+	}
+
+	public long getRecordLine() {
+		return recordLine;
+	}
+
+	private int read() throws IOException {
+		int c;
+		if (pending != -1) {
+			c = pending;
+			pending = -1;
+		} else {
+			c = reader.read();
+		}
+		if (c == '\n') {
+			line++;
+		}
+		return c;
+	}
+}
@@ -0,0 +1,94 @@
+package com.elissandro.hdcontrol.services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.elissandro.hdcontrol.dtos.RevenueBucketDTO;
+import com.elissandro.hdcontrol.entities.DailyRevenue;
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+import com.elissandro.hdcontrol.entities.enums.PaymentStatus;
+import com.elissandro.hdcontrol.entities.enums.ReportGranularity;
+import com.elissandro.hdcontrol.repositories.DailyRevenueRepository;
+import com.elissandro.hdcontrol.repositories.ReportUpsertRepository;
+
+@Service
+public class DailyRevenueService {
+
+	private static final int MAX_BUCKETS = 1000;
+
+	private static final String REBUILD = "INSERT INTO tb_daily_revenue "
+			+ "(revenue_date, status, order_count, quantity, revenue, paid_revenue) "
+			+ "SELECT revenue_date, status, COUNT(*), SUM(total_quantity), SUM(total), "
+			+ "SUM(CASE WHEN payment_status = ? THEN total ELSE 0 END) FROM ("
+			+ "SELECT o.delivery_date AS revenue_date, o.status, o.total, o.total_quantity, p.status AS payment_status "
+			+ "FROM tb_order o LEFT JOIN tb_payment p ON p.order_id = o.id "
+			+ "UNION ALL "
+			+ "SELECT a.delivery_date, a.status, a.total, a.total_quantity, a.payment_status FROM tb_order_archive a"
+			+ ") t WHERE revenue_date IS NOT NULL AND status IS NOT NULL "
+			+ "GROUP BY revenue_date, status";
+
+	@Autowired
+	private DailyRevenueRepository repository;
+
+	@Autowired
+	private ReportUpsertRepository upsertRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/*
+	 * Runs inside the caller's transaction, so the rollup commits or rolls
+	 * back together with the orders it describes.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void apply(RevenueDeltas deltas) {
+		List<Object[]> rows = deltas.rows();
+		if (!rows.isEmpty()) {
+			upsertRepository.upsertDailyRevenue(rows);
+		}
+	}
+
+	@Transactional
+	public int rebuild() {
+		upsertRepository.lockForRebuild("tb_daily_revenue");
+		jdbcTemplate.update("DELETE FROM tb_daily_revenue");
+		return jdbcTemplate.update(REBUILD, PaymentStatus.PAID.ordinal());
+	}
+
+	/*
+	 * Reads at most one rollup row per day and status in the range, whatever
+	 * the number of orders behind them. Cancelled orders are left out unless
+	 * asked for. Empty periods are returned with zeros.
+	 */
+	@Transactional(readOnly = true)
+	public List<RevenueBucketDTO> findRevenue(LocalDate from, LocalDate to, ReportGranularity granularity, Set<OrderStatus> status) {
+		if (from.isAfter(to)) {
+			throw new IllegalArgumentException("from must not be after to");
+		}
+		Set<OrderStatus> statuses = status == null || status.isEmpty() ? EnumSet.complementOf(EnumSet.of(OrderStatus.CANCELED)) : status;
+
+		Map<LocalDate, RevenueBucketDTO> buckets = new LinkedHashMap<>();
+		for (LocalDate bucket = granularity.bucketOf(from); !bucket.isAfter(to); bucket = granularity.next(bucket)) {
+			if (buckets.size() == MAX_BUCKETS) {
+				throw new IllegalArgumentException("Period too long for granularity " + granularity);
+			}
+			buckets.put(bucket, new RevenueBucketDTO(bucket));
+		}
+		for (DailyRevenue row : repository.search(from, to, statuses)) {
+			buckets.get(granularity.bucketOf(row.getRevenueDate())).add(row);
+		}
+		return new ArrayList<>(buckets.values());
+	}
+
+}
@@ -0,0 +1,164 @@
+package com.elissandro.hdcontrol.services;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.elissandro.hdcontrol.dtos.OrderArchiveResultDTO;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Moves closed orders (FINALIZED or CANCELED, delivered before the cutoff) from
+ * tb_order to tb_order_archive in small batches, one transaction each, so the
+ * hot tables and their indexes stop growing. The ids of a batch are locked
+ * first; an order edited meanwhile fails its optimistic lock instead of being
+ * lost. Each moved order leaves a tombstone, so sync clients drop it like a
+ * deleted one. Off by default: tb_order_archive has to be created by hand
+ * (db/postgresql/006) before the job is enabled.
+ */
+@Service
+public class OrderArchiveService {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderArchiveService.class);
+
+	private static final String SELECT_IDS = "SELECT id FROM tb_order "
+			+ "WHERE status IN ('FINALIZED', 'CANCELED') AND delivery_date < ? "
+			+ "ORDER BY id FETCH FIRST ? ROWS ONLY FOR UPDATE";
+	private static final String ARCHIVE_ORDERS = "INSERT INTO tb_order_archive (id, user_id, service_description, observation, "
+			+ "status, delivery_date, total, total_quantity, payment_status, payment_moment, updated_at, archived_at) "
+			+ "SELECT o.id, o.user_id, o.service_description, o.observation, o.status, o.delivery_date, o.total, "
+			+ "o.total_quantity, p.status, p.moment, o.updated_at, :now "
+			+ "FROM tb_order o LEFT JOIN tb_payment p ON p.order_id = o.id WHERE o.id IN (:ids)";
+	private static final String ARCHIVE_ITEMS = "INSERT INTO tb_order_item_archive (order_id, product_id, quantity, price) "
+			+ "SELECT order_id, product_id, quantity, price FROM tb_order_item WHERE order_id IN (:ids)";
+	// tb_order_tombstone.user_id is required; orders without a client have no sync reader
+	private static final String TOMBSTONE_ORDERS = "INSERT INTO tb_order_tombstone (order_id, user_id, deleted_at) "
+			+ "SELECT id, user_id, :now FROM tb_order WHERE id IN (:ids) AND user_id IS NOT NULL";
+	private static final String[] DELETE_HOT = {
+			"DELETE FROM tb_order_item WHERE order_id IN (:ids)",
+			"DELETE FROM tb_order_product WHERE order_id IN (:ids)",
+			"DELETE FROM tb_payment WHERE order_id IN (:ids)",
+			"DELETE FROM tb_order WHERE id IN (:ids)" };
+
+	@Value("${orders.archive.enabled:false}")
+	private boolean enabled;
+
+	@Value("${orders.archive.age-days:365}")
+	private int ageDays;
+
+	@Value("${orders.archive.batch-size:200}")
+	private int batchSize;
+
+	@Value("${orders.archive.max-batches:100}")
+	private int maxBatches;
+
+	@Value("${orders.archive.batch-pause-ms:200}")
+	private long batchPauseMillis;
+
+	@Value("${orders.archive.interval-minutes:60}")
+	private long intervalMinutes;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "order-archive");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	@PostConstruct
+	public void start() {
+		if (enabled) {
+			scheduler.scheduleWithFixedDelay(this::archiveQuietly, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		scheduler.shutdownNow();
+	}
+
+	/*
+	 * One pass: batches run until one comes back short or max-batches is hit;
+	 * whatever is left is picked up by the next pass.
+	 */
+	public synchronized OrderArchiveResultDTO archive() {
+		long start = System.currentTimeMillis();
+		OrderArchiveResultDTO result = new OrderArchiveResultDTO(LocalDate.now().minusDays(ageDays));
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		int archived;
+		do {
+			archived = transactionTemplate.execute(status -> archiveBatch(result));
+			if (archived > 0) {
+				result.setBatches(result.getBatches() + 1);
+			}
+		} while (archived == batchSize && result.getBatches() < maxBatches && pause());
+		result.setElapsedMillis(System.currentTimeMillis() - start);
+		return result;
+	}
+
+	private int archiveBatch(OrderArchiveResultDTO result) {
+		List<Long> ids = jdbcTemplate.queryForList(SELECT_IDS, Long.class, Date.valueOf(result.getCutoff()), batchSize);
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		Map<String, Object> params = Map.of("ids", ids, "now", Timestamp.from(Instant.now()));
+		namedJdbcTemplate.update(ARCHIVE_ORDERS, params);
+		int items = namedJdbcTemplate.update(ARCHIVE_ITEMS, params);
+		namedJdbcTemplate.update(TOMBSTONE_ORDERS, params);
+		for (String sql : DELETE_HOT) {
+			namedJdbcTemplate.update(sql, params);
+		}
+		result.setOrdersArchived(result.getOrdersArchived() + ids.size());
+		result.setItemsArchived(result.getItemsArchived() + items);
+		return ids.size();
+	}
+
+	private boolean pause() {
+		try {
+			Thread.sleep(batchPauseMillis);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private void archiveQuietly() {
+		try {
+			OrderArchiveResultDTO result = archive();
+			if (result.getOrdersArchived() > 0) {
+				logger.info("Archived {} orders delivered before {} in {} ms", result.getOrdersArchived(),
+						result.getCutoff(), result.getElapsedMillis());
+			}
+		} catch (RuntimeException e) {
+			logger.error("Order archiving failed", e);
+		}
+	}
+
+}
@@ -0,0 +1,98 @@
+package com.elissandro.hdcontrol.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Set;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+
+/*
+ * Position of a keyset page: sortKey|DIR|phase|key|id. Orders sorted by
+ * delivery date are walked in two phases, the dated range (K) and then the
+ * orders without a date (N), each with its own seek.
+ */
+public class OrderCursor {
+
+	private static final Set<String> SORT_KEYS = Set.of("id", "deliveryDate");
+	private static final String SEPARATOR = "|";
+	private static final String KEY_RANGE = "K";
+	private static final String NULL_TAIL = "N";
+
+	private final String sortKey;
+	private final Direction direction;
+	private final boolean nullTail;
+	private final Object key;
+	private final Long id;
+
+	private OrderCursor(String sortKey, Direction direction, boolean nullTail, Object key, Long id) {
+		this.sortKey = sortKey;
+		this.direction = direction;
+		this.nullTail = nullTail;
+		this.key = key;
+		this.id = id;
+	}
+
+	public static OrderCursor first(Sort sort) {
+		Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.desc("id"));
+		if (!SORT_KEYS.contains(order.getProperty())) {
+			throw new IllegalArgumentException("Cursor pagination only supports sorting by " + SORT_KEYS);
+		}
+		return new OrderCursor(order.getProperty(), order.getDirection(), false, null, null);
+	}
+
+	public static OrderCursor decode(String cursor) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			String[] parts = raw.split("\\|", -1);
+			String sortKey = parts[0];
+			if (parts.length != 5 || !SORT_KEYS.contains(sortKey)) {
+				throw new IllegalArgumentException();
+			}
+			boolean nullTail = NULL_TAIL.equals(parts[2]);
+			if (!nullTail && !KEY_RANGE.equals(parts[2])) {
+				throw new IllegalArgumentException();
+			}
+			Object key = nullTail || "id".equals(sortKey) ? null : LocalDate.parse(parts[3]);
+			return new OrderCursor(sortKey, Direction.fromString(parts[1]), nullTail, key, Long.valueOf(parts[4]));
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid cursor");
+		}
+	}
+
+	/*
+	 * A row without a sort key can only come from the null tail, so the next
+	 * page stays in it.
+	 */
+	public OrderCursor next(Object key, Long id) {
+		return new OrderCursor(sortKey, direction, !"id".equals(sortKey) && key == null, key, id);
+	}
+
+	public String encode() {
+		String raw = sortKey + SEPARATOR + direction.name() + SEPARATOR + (nullTail ? NULL_TAIL : KEY_RANGE) + SEPARATOR
+				+ (key == null ? "" : key) + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public String getSortKey() {
+		return sortKey;
+	}
+
+	public Direction getDirection() {
+		return direction;
+	}
+
+	public boolean isNullTail() {
+		return nullTail;
+	}
+
+	public Object getKey() {
+		return key;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+}
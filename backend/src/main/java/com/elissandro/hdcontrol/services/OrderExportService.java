@@ -0,0 +1,114 @@
+package com.elissandro.hdcontrol.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.elissandro.hdcontrol.dtos.OrderDTO;
+import com.elissandro.hdcontrol.dtos.OrderItemDTO;
+import com.elissandro.hdcontrol.entities.Order;
+import com.elissandro.hdcontrol.repositories.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Service
+public class OrderExportService {
+
+	public static final String CSV_HEADER = "order_id,user_id,delivery_date,status,service_description,observation,"
+			+ "product_id,product_name,brand,quantity,price,subtotal";
+
+	@Autowired
+	private OrderRepository repository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@PersistenceContext
+	private EntityManager em;
+
+	@Transactional(readOnly = true)
+	public void exportNdjson(OutputStream out) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		export(order -> {
+			writer.write(objectMapper.writeValueAsString(new OrderDTO(order)));
+			writer.write('\n');
+		});
+		writer.flush();
+	}
+
+	@Transactional(readOnly = true)
+	public void exportCsv(OutputStream out) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		writer.write(CSV_HEADER);
+		writer.write('\n');
+		export(order -> {
+			OrderDTO dto = new OrderDTO(order);
+			if (dto.getItems().isEmpty()) {
+				writeCsvLine(writer, dto, null);
+			}
+			for (OrderItemDTO item : dto.getItems()) {
+				writeCsvLine(writer, dto, item);
+			}
+		});
+		writer.flush();
+	}
+
+	private void export(OrderWriter orderWriter) throws IOException {
+		try (Stream<Order> stream = repository.streamAllWithItems()) {
+			stream.forEach(order -> {
+				try {
+					orderWriter.write(order);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				em.detach(order);
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	private void writeCsvLine(Writer writer, OrderDTO dto, OrderItemDTO item) throws IOException {
+		writer.write(String.join(",",
+				String.valueOf(dto.getId()),
+				dto.getUser() == null ? "" : String.valueOf(dto.getUser().getId()),
+				dto.getDeliveryDate() == null ? "" : dto.getDeliveryDate().toString(),
+				dto.getStatus() == null ? "" : dto.getStatus().name(),
+				csv(dto.getServiceDescription()),
+				csv(dto.getObservation()),
+				item == null ? "" : String.valueOf(item.getProduct().getId()),
+				item == null ? "" : csv(item.getProduct().getName()),
+				item == null ? "" : csv(item.getProduct().getBrand()),
+				item == null ? "" : String.valueOf(item.getQuantity()),
+				item == null ? "" : String.valueOf(item.getPrice()),
+				item == null ? "" : String.valueOf(item.getSubTotal())));
+		writer.write('\n');
+	}
+
+	private static String csv(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+			return "\"" + value.replace("\"", "\"\"") + "\"";
+		}
+		return value;
+	}
+
+	@FunctionalInterface
+	private interface OrderWriter {
+		void write(Order order) throws IOException;
+	}
+
+}
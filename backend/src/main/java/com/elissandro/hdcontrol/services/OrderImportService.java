@@ -0,0 +1,446 @@
+package com.elissandro.hdcontrol.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.elissandro.hdcontrol.dtos.OrderChangeDTO;
+import com.elissandro.hdcontrol.dtos.OrderChangeDTO.Type;
+import com.elissandro.hdcontrol.dtos.OrderDTO;
+import com.elissandro.hdcontrol.dtos.OrderImportResultDTO;
+import com.elissandro.hdcontrol.dtos.OrderItemDTO;
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Bulk load of historical orders in the export formats. The file is read one
+ * record at a time; only the current chunk and the user/product lookups are
+ * kept in memory, and each chunk is written with JDBC batches and committed on
+ * its own, so a rejected chunk does not undo the ones before it.
+ */
+@Service
+public class OrderImportService {
+
+	private static final String INSERT_ORDER = "INSERT INTO tb_order (user_id, service_description, observation, status, "
+			+ "delivery_date, total, total_quantity, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+	private static final String INSERT_ITEM = "INSERT INTO tb_order_item (order_id, product_id, quantity, price) VALUES (?, ?, ?, ?)";
+	private static final String INSERT_ORDER_PRODUCT = "INSERT INTO tb_order_product (order_id, product_id) VALUES (?, ?)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private DailyRevenueService revenueService;
+
+	@Autowired
+	private ProductStatsService productStatsService;
+
+	@Autowired
+	private ClientBalanceService clientBalanceService;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Value("${import.orders.chunk-size:500}")
+	private int defaultChunkSize;
+
+	public OrderImportResultDTO importNdjson(InputStream in, Integer chunkSize) throws IOException {
+		Importer importer = new Importer(chunkSize);
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+		long lineNumber = 0;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			if (line.isBlank()) {
+				continue;
+			}
+			importer.result.setLinesRead(importer.result.getLinesRead() + 1);
+			try {
+				OrderDTO dto = objectMapper.readValue(line, OrderDTO.class);
+				ImportOrder order = new ImportOrder(lineNumber, dto.getId() == null ? null : dto.getId().toString());
+				order.userId = dto.getUser() == null ? null : dto.getUser().getId();
+				order.userEmail = dto.getUser() == null ? null : dto.getUser().getEmail();
+				order.serviceDescription = dto.getServiceDescription();
+				order.observation = dto.getObservation();
+				order.status = dto.getStatus();
+				order.deliveryDate = dto.getDeliveryDate();
+				for (OrderItemDTO item : dto.getItems()) {
+					order.items.add(new ImportItem(lineNumber,
+							item.getProduct() == null ? null : item.getProduct().getId(),
+							item.getProduct() == null ? null : item.getProduct().getName(),
+							item.getProduct() == null ? null : item.getProduct().getBrand(),
+							item.getQuantity(), item.getPrice()));
+				}
+				importer.add(order);
+			} catch (JsonProcessingException e) {
+				importer.result.reject(lineNumber, "JSON inválido: " + e.getOriginalMessage());
+			}
+		}
+		return importer.finish();
+	}
+
+	public OrderImportResultDTO importCsv(InputStream in, Integer chunkSize) throws IOException {
+		Importer importer = new Importer(chunkSize);
+		CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+		List<String> header = reader.next();
+		if (header == null) {
+			return importer.finish();
+		}
+		Map<String, Integer> columns = new HashMap<>();
+		for (int i = 0; i < header.size(); i++) {
+			columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+		}
+		if (!columns.containsKey("user_id") || !columns.containsKey("quantity") || !columns.containsKey("price")) {
+			throw new IllegalArgumentException("Cabeçalho CSV inválido, esperado: " + OrderExportService.CSV_HEADER);
+		}
+
+		ImportOrder current = null;
+		List<String> record;
+		while ((record = reader.next()) != null) {
+			long lineNumber = reader.getRecordLine();
+			importer.result.setLinesRead(importer.result.getLinesRead() + 1);
+			String sourceId = field(record, columns, "order_id");
+			if (current == null || sourceId == null || !sourceId.equals(current.sourceId)) {
+				importer.add(current);
+				current = new ImportOrder(lineNumber, sourceId);
+				try {
+					current.userId = parseLong(field(record, columns, "user_id"));
+					current.deliveryDate = parseDate(field(record, columns, "delivery_date"));
+					current.status = parseStatus(field(record, columns, "status"));
+					current.serviceDescription = field(record, columns, "service_description");
+					current.observation = field(record, columns, "observation");
+				} catch (IllegalArgumentException | DateTimeException e) {
+					current.error(lineNumber, e.getMessage());
+				}
+			}
+			try {
+				Long productId = parseLong(field(record, columns, "product_id"));
+				String productName = field(record, columns, "product_name");
+				if (productId != null || productName != null) {
+					current.items.add(new ImportItem(lineNumber, productId, productName, field(record, columns, "brand"),
+							parseInteger(field(record, columns, "quantity")), parseDouble(field(record, columns, "price"))));
+				}
+			} catch (IllegalArgumentException e) {
+				current.error(lineNumber, e.getMessage());
+			}
+		}
+		importer.add(current);
+		return importer.finish();
+	}
+
+	private static String field(List<String> record, Map<String, Integer> columns, String name) {
+		Integer index = columns.get(name);
+		if (index == null || index >= record.size()) {
+			return null;
+		}
+		String value = record.get(index).trim();
+		return value.isEmpty() ? null : value;
+	}
+
+	private static Long parseLong(String value) {
+		try {
+			return value == null ? null : Long.valueOf(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Número inválido: " + value);
+		}
+	}
+
+	private static Integer parseInteger(String value) {
+		try {
+			return value == null ? null : Integer.valueOf(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Quantidade inválida: " + value);
+		}
+	}
+
+	private static Double parseDouble(String value) {
+		try {
+			return value == null ? null : Double.valueOf(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Preço inválido: " + value);
+		}
+	}
+
+	private static LocalDate parseDate(String value) {
+		return value == null ? null : LocalDate.parse(value);
+	}
+
+	private static OrderStatus parseStatus(String value) {
+		try {
+			return value == null ? null : OrderStatus.valueOf(value.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Status inválido: " + value);
+		}
+	}
+
+	private class Importer {
+
+		private final OrderImportResultDTO result = new OrderImportResultDTO();
+		private final long start = System.currentTimeMillis();
+		private final int chunkSize;
+		private final List<ImportOrder> chunk = new ArrayList<>();
+		private final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+		private final Set<Long> userIds = new HashSet<>();
+		private final Map<String, Long> usersByEmail = new HashMap<>();
+		private final Map<Long, Double> productPrices = new HashMap<>();
+		private final Map<Long, String> productBrands = new HashMap<>();
+		private final Map<String, Long> productsByName = new HashMap<>();
+
+		Importer(Integer chunkSize) {
+			this.chunkSize = Math.max(1, Math.min(chunkSize == null ? defaultChunkSize : chunkSize, 5000));
+			jdbcTemplate.query("SELECT id, email FROM tb_user", rs -> {
+				userIds.add(rs.getLong(1));
+				if (rs.getString(2) != null) {
+					usersByEmail.put(rs.getString(2).toLowerCase(Locale.ROOT), rs.getLong(1));
+				}
+			});
+			jdbcTemplate.query("SELECT id, name, brand, price FROM tb_product", rs -> {
+				productPrices.put(rs.getLong(1), rs.getDouble(4));
+				productBrands.put(rs.getLong(1), rs.getString(3));
+				// -1 marks a name and brand shared by several products: those rows must carry product_id
+				productsByName.merge(ProductImportService.productKey(rs.getString(2), rs.getString(3)), rs.getLong(1), (a, b) -> -1L);
+			});
+		}
+
+		void add(ImportOrder order) {
+			if (order == null) {
+				return;
+			}
+			if (order.error == null) {
+				resolve(order);
+			}
+			if (order.error != null) {
+				result.reject(order.errorLine, describe(order) + order.error);
+				return;
+			}
+			chunk.add(order);
+			if (chunk.size() >= chunkSize) {
+				flush();
+			}
+		}
+
+		private void resolve(ImportOrder order) {
+			if (order.userId == null && order.userEmail != null) {
+				order.userId = usersByEmail.get(order.userEmail.toLowerCase(Locale.ROOT));
+			}
+			if (order.userId == null || !userIds.contains(order.userId)) {
+				order.error(order.line, "Usuário não encontrado: " + (order.userId != null ? order.userId : order.userEmail));
+				return;
+			}
+			Set<Long> products = new HashSet<>();
+			for (ImportItem item : order.items) {
+				if (item.productId == null) {
+					item.productId = productsByName.get(ProductImportService.productKey(item.productName, item.brand));
+					if (item.productId != null && item.productId == -1L) {
+						order.error(item.line, "Produto ambíguo, informe product_id: " + item.productName + " " + item.brand);
+						return;
+					}
+				}
+				if (item.productId == null || !productPrices.containsKey(item.productId)) {
+					order.error(item.line, "Produto não encontrado: " + (item.productId != null ? item.productId : item.productName));
+					return;
+				}
+				if (!products.add(item.productId)) {
+					order.error(item.line, "Produto repetido no pedido: ID " + item.productId);
+					return;
+				}
+				if (item.quantity == null || item.quantity <= 0) {
+					order.error(item.line, "Quantidade inválida no item do pedido.");
+					return;
+				}
+				if (item.price == null) {
+					item.price = productPrices.get(item.productId);
+				}
+				if (item.price < 0) {
+					order.error(item.line, "Preço inválido: " + item.price);
+					return;
+				}
+			}
+		}
+
+		private void flush() {
+			if (chunk.isEmpty()) {
+				return;
+			}
+			try {
+				int items = transactionTemplate.execute(status -> write(chunk));
+				result.setOrdersImported(result.getOrdersImported() + chunk.size());
+				result.setItemsImported(result.getItemsImported() + items);
+			} catch (DataAccessException e) {
+				String message = e.getMostSpecificCause().getMessage();
+				for (ImportOrder order : chunk) {
+					result.reject(order.line, describe(order) + "Falha ao gravar o lote: " + message);
+				}
+			}
+			chunk.clear();
+		}
+
+		private int write(List<ImportOrder> orders) {
+			KeyHolder keys = new GeneratedKeyHolder();
+			Timestamp now = Timestamp.from(Instant.now());
+			jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_ORDER, new String[] { "id" }),
+					new BatchPreparedStatementSetter() {
+						@Override
+						public void setValues(PreparedStatement ps, int i) throws SQLException {
+							ImportOrder order = orders.get(i);
+							ps.setLong(1, order.userId);
+							ps.setString(2, order.serviceDescription);
+							ps.setString(3, order.observation);
+							ps.setString(4, order.status == null ? null : order.status.name());
+							ps.setDate(5, order.deliveryDate == null ? null : Date.valueOf(order.deliveryDate));
+							ps.setDouble(6, order.total());
+							ps.setInt(7, order.totalQuantity());
+							ps.setTimestamp(8, now);
+						}
+
+						@Override
+						public int getBatchSize() {
+							return orders.size();
+						}
+					}, keys);
+
+			List<Object[]> items = new ArrayList<>();
+			List<Object[]> products = new ArrayList<>();
+			List<Map<String, Object>> keyList = keys.getKeyList();
+			for (int i = 0; i < orders.size(); i++) {
+				Object id = keyList.get(i).values().iterator().next();
+				for (ImportItem item : orders.get(i).items) {
+					items.add(new Object[] { id, item.productId, item.quantity, item.price });
+					products.add(new Object[] { id, item.productId });
+				}
+			}
+			jdbcTemplate.batchUpdate(INSERT_ITEM, items);
+			jdbcTemplate.batchUpdate(INSERT_ORDER_PRODUCT, products);
+			RevenueDeltas deltas = new RevenueDeltas();
+			ClientBalanceDeltas balanceDeltas = new ClientBalanceDeltas();
+			for (ImportOrder order : orders) {
+				deltas.add(order.deliveryDate, order.status, order.total(), order.totalQuantity(), false, 1);
+				balanceDeltas.add(order.userId, order.status, order.total(), false, 1);
+			}
+			revenueService.apply(deltas);
+			clientBalanceService.apply(balanceDeltas);
+			ProductStatsDeltas statsDeltas = new ProductStatsDeltas();
+			for (ImportOrder order : orders) {
+				if (ProductStatsDeltas.counts(order.status)) {
+					Set<String> brands = new HashSet<>();
+					for (ImportItem item : order.items) {
+						statsDeltas.addItem(item.productId, productBrands.get(item.productId), item.quantity, item.price, 1);
+						brands.add(productBrands.get(item.productId));
+					}
+					statsDeltas.addOrder(brands, 1);
+				}
+			}
+			productStatsService.apply(statsDeltas);
+			eventPublisher.publishEvent(new OrderChangeDTO(Type.IMPORTED, null, null, null));
+			return items.size();
+		}
+
+		OrderImportResultDTO finish() {
+			flush();
+			result.setElapsedMillis(System.currentTimeMillis() - start);
+			return result;
+		}
+
+		private String describe(ImportOrder order) {
+			return order.sourceId == null ? "" : "Pedido " + order.sourceId + ": ";
+		}
+	}
+
+	private static class ImportOrder {
+
+		private final long line;
+		private final String sourceId;
+		private Long userId;
+		private String userEmail;
+		private String serviceDescription;
+		private String observation;
+		private OrderStatus status;
+		private LocalDate deliveryDate;
+		private final List<ImportItem> items = new ArrayList<>();
+		private String error;
+		private long errorLine;
+
+		ImportOrder(long line, String sourceId) {
+			this.line = line;
+			this.sourceId = sourceId;
+		}
+
+		void error(long line, String message) {
+			if (error == null) {
+				error = message;
+				errorLine = line;
+			}
+		}
+
+		double total() {
+			double total = 0.0;
+			for (ImportItem item : items) {
+				total += item.price * item.quantity;
+			}
+			return total;
+		}
+
+		int totalQuantity() {
+			int totalQuantity = 0;
+			for (ImportItem item : items) {
+				totalQuantity += item.quantity;
+			}
+			return totalQuantity;
+		}
+	}
+
+	private static class ImportItem {
+
+		private final long line;
+		private Long productId;
+		private final String productName;
+		private final String brand;
+		private final Integer quantity;
+		private Double price;
+
+		ImportItem(long line, Long productId, String productName, String brand, Integer quantity, Double price) {
+			this.line = line;
+			this.productId = productId;
+			this.productName = productName;
+			this.brand = brand;
+			this.quantity = quantity;
+			this.price = price;
+		}
+	}
+}
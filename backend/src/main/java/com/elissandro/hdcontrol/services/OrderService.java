@@ -1,66 +1,313 @@
 package com.elissandro.hdcontrol.services;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.elissandro.hdcontrol.dtos.CursorPageDTO;
+import com.elissandro.hdcontrol.dtos.OrderChangeDTO;
+import com.elissandro.hdcontrol.dtos.OrderChangesDTO;
+import com.elissandro.hdcontrol.dtos.OrderChangeDTO.Type;
 import com.elissandro.hdcontrol.dtos.OrderDTO;
+import com.elissandro.hdcontrol.dtos.OrderFilterDTO;
 import com.elissandro.hdcontrol.dtos.OrderItemDTO;
+import com.elissandro.hdcontrol.dtos.OrderListDTO;
+import com.elissandro.hdcontrol.dtos.OrderStatusResultDTO;
+import com.elissandro.hdcontrol.dtos.OrderStatusResultDTO.Result;
+import com.elissandro.hdcontrol.dtos.OrderStatusUpdateDTO;
+import com.elissandro.hdcontrol.dtos.OrderSummaryDTO;
+import com.elissandro.hdcontrol.dtos.StatusSummaryDTO;
 import com.elissandro.hdcontrol.entities.Order;
 import com.elissandro.hdcontrol.entities.OrderItem;
+import com.elissandro.hdcontrol.entities.OrderTombstone;
 import com.elissandro.hdcontrol.entities.Product;
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+import com.elissandro.hdcontrol.entities.enums.PaymentStatus;
+import com.elissandro.hdcontrol.projections.OrderStatusProjection;
+import com.elissandro.hdcontrol.projections.OrderStatusSummaryProjection;
+import com.elissandro.hdcontrol.projections.OrderVersionProjection;
+import com.elissandro.hdcontrol.projections.PaymentStatusSummaryProjection;
+import com.elissandro.hdcontrol.repositories.ArchivedOrderRepository;
 import com.elissandro.hdcontrol.repositories.OrderItemRepository;
 import com.elissandro.hdcontrol.repositories.OrderRepository;
+import com.elissandro.hdcontrol.repositories.OrderTextSearchRepository;
+import com.elissandro.hdcontrol.repositories.OrderTombstoneRepository;
 import com.elissandro.hdcontrol.repositories.ProductRepository;
 import com.elissandro.hdcontrol.repositories.UserRepository;
 import com.elissandro.hdcontrol.services.exceptions.DatabaseException;
+import com.elissandro.hdcontrol.services.exceptions.PreconditionFailedException;
 import com.elissandro.hdcontrol.services.exceptions.ResourceNotFoundException;
 
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
 public class OrderService {
-	
+
+	private static final int MAX_CHANGES_SIZE = 1000;
 
 	@Autowired
 	private OrderRepository repository;
 
 	@Autowired
-	private OrderItemRepository orderItemRepository;
-	
+	private OrderTextSearchRepository textSearchRepository;
+
 	@Autowired
 	private UserRepository userRepository;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
 	@Autowired
 	private ProductRepository productRepository;
 
+	@Autowired
+	private OrderTombstoneRepository tombstoneRepository;
+
+	@Autowired
+	private ArchivedOrderRepository archivedOrderRepository;
+
+	@Autowired
+	private DailyRevenueService revenueService;
+
+	@Autowired
+	private ProductStatsService productStatsService;
+
+	@Autowired
+	private ClientBalanceService clientBalanceService;
+
+	@Autowired
+	private OrderItemRepository orderItemRepository;
+
+	@Value("${orders.sync.lag-ms:5000}")
+	private long syncLagMillis;
+
 	@Transactional(readOnly = true)
-	public Page<Order> findAllPaged(Pageable pageable, Integer userId) {
-		return repository.findAll(pageable, userId);
+	public Page<OrderDTO> findAllPaged(Pageable pageable, OrderFilterDTO filter) {
+		if (filter.getUserId() == null) {
+			return Page.empty(pageable);
+		}
+		Page<Long> page = repository.searchOrderIds(filter, pageable);
+		return findOrderDTOs(page);
 	}
 	
 	@Transactional(readOnly = true)
-	public Page<Order> findAllPagedOrders(Pageable pageable) {
-		return repository.findAllOrders(pageable);
+	public Page<OrderDTO> findAllPagedOrders(Pageable pageable, OrderFilterDTO filter) {
+		Page<Long> page = repository.searchOrderIds(filter, pageable);
+		return findOrderDTOs(page);
+	}
+
+	@Transactional(readOnly = true)
+	public Page<OrderListDTO> findOrderList(Pageable pageable, OrderFilterDTO filter) {
+		return repository.searchOrderList(filter, pageable);
+	}
+
+	@Transactional(readOnly = true)
+	public Page<Order> search(String text, Integer userId, Pageable pageable) {
+		if (text == null || text.isBlank()) {
+			throw new IllegalArgumentException("Search text must not be blank");
+		}
+		Page<Long> page = textSearchRepository.searchOrderIdsByText(text.trim(), userId, pageable);
+		return findOrdersWithItems(page);
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPageDTO<OrderDTO> findAllByCursor(String cursor, Pageable pageable, OrderFilterDTO filter) {
+		if (Boolean.TRUE.equals(filter.getIncludeArchived())) {
+			throw new IllegalArgumentException("Cursor pagination does not support includeArchived");
+		}
+		OrderCursor current = cursor.isBlank() ? OrderCursor.first(pageable.getSort()) : OrderCursor.decode(cursor);
+		int size = pageable.getPageSize();
+		List<Object[]> rows = new ArrayList<>(repository.searchOrderKeysAfter(filter, current.getSortKey(),
+				current.getDirection(), current.isNullTail(), current.getKey(), current.getId(), size + 1));
+		if (!"id".equals(current.getSortKey()) && !current.isNullTail() && rows.size() <= size) {
+			/* the dated range ran out: fill the page from the start of the null tail */
+			rows.addAll(repository.searchOrderKeysAfter(filter, current.getSortKey(), current.getDirection(), true,
+					null, null, size + 1 - rows.size()));
+		}
+		boolean hasNext = rows.size() > size;
+		if (hasNext) {
+			rows = rows.subList(0, size);
+		}
+		List<Order> orders = findOrdersWithItems(rows.stream().map(row -> (Long) row[0]).toList());
+		String next = null;
+		if (hasNext) {
+			Object[] last = rows.get(rows.size() - 1);
+			Object key = "deliveryDate".equals(current.getSortKey()) ? last[1] : null;
+			next = current.next(key, (Long) last[0]).encode();
+		}
+		return new CursorPageDTO<>(orders.stream().map(x -> new OrderDTO(x)).toList(), size, next);
+	}
+
+	/*
+	 * updated_at is stamped when the transaction writes, not when it commits, so a
+	 * slow transaction can surface rows older than a token already handed out.
+	 * Only rows older than the sync lag are served; the next token is the last
+	 * row read or, once the client is caught up, the horizon itself.
+	 */
+	@Transactional(readOnly = true)
+	public OrderChangesDTO findChanges(String since, Integer userId, int size) {
+		size = Math.min(Math.max(size, 1), MAX_CHANGES_SIZE);
+		OrderSyncToken from = since == null || since.isBlank() ? OrderSyncToken.first() : OrderSyncToken.decode(since);
+		Instant horizon = Instant.now().minusMillis(syncLagMillis).truncatedTo(ChronoUnit.MICROS);
+		if (!horizon.isAfter(from.getUpdatedAt())) {
+			return new OrderChangesDTO(List.of(), List.of(), from.encode(), false);
+		}
+		List<OrderListDTO> changed = repository.searchChangedOrders(userId, from.getUpdatedAt(), from.getId(), horizon, size + 1);
+		boolean hasMore = changed.size() > size;
+		OrderSyncToken next = new OrderSyncToken(horizon, Long.MAX_VALUE);
+		if (hasMore) {
+			changed = changed.subList(0, size);
+			OrderListDTO last = changed.get(size - 1);
+			next = new OrderSyncToken(last.getUpdatedAt(), last.getId());
+		}
+		List<Long> deleted = tombstoneRepository.findDeletedOrderIds(userId, from.getUpdatedAt(), next.getUpdatedAt());
+		return new OrderChangesDTO(changed, deleted, next.encode(), hasMore);
+	}
+
+	/*
+	 * An order id lives either in tb_order or in the archive, never both, so ids
+	 * missing from the hot read are looked up in the archive. Hot-only queries
+	 * never reach the second read.
+	 */
+	private Page<OrderDTO> findOrderDTOs(Page<Long> page) {
+		List<Long> ids = page.getContent();
+		Map<Long, OrderDTO> dtos = new HashMap<>();
+		if (!ids.isEmpty()) {
+			repository.searchOrdersWithItems(ids).forEach(x -> dtos.put(x.getId(), new OrderDTO(x)));
+		}
+		if (dtos.size() < ids.size()) {
+			List<Long> missing = ids.stream().filter(id -> !dtos.containsKey(id)).toList();
+			archivedOrderRepository.searchOrdersWithItems(missing).forEach(x -> dtos.put(x.getId(), new OrderDTO(x)));
+		}
+		List<OrderDTO> result = ids.stream().map(dtos::get).filter(Objects::nonNull).toList();
+		return new PageImpl<>(result, page.getPageable(), page.getTotalElements());
+	}
+
+	private Page<Order> findOrdersWithItems(Page<Long> page) {
+		List<Order> result = findOrdersWithItems(page.getContent());
+		return new PageImpl<>(result, page.getPageable(), page.getTotalElements());
+	}
+
+	private List<Order> findOrdersWithItems(List<Long> ids) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		Map<Long, Order> entities = repository.searchOrdersWithItems(ids).stream()
+				.collect(Collectors.toMap(Order::getId, Function.identity()));
+		return ids.stream().map(entities::get).filter(Objects::nonNull).toList();
 	}
 	
+	@Transactional(readOnly = true)
+	public OrderSummaryDTO summary(Integer userId) {
+		OrderSummaryDTO dto = new OrderSummaryDTO();
+		for (OrderStatusSummaryProjection projection : repository.summarizeByStatus(userId)) {
+			dto.getByStatus().add(new StatusSummaryDTO(projection));
+			dto.setTotalCount(dto.getTotalCount() + projection.getQuantity());
+			dto.setGrandTotal(dto.getGrandTotal() + projection.getTotal());
+		}
+		for (PaymentStatusSummaryProjection projection : repository.summarizeByPaymentStatus(userId)) {
+			dto.getByPaymentStatus().add(new StatusSummaryDTO(projection));
+			if (projection.getStatus() == PaymentStatus.PAID) {
+				dto.setPaidCount(projection.getQuantity());
+				dto.setPaidTotal(projection.getTotal());
+			}
+		}
+		dto.setUnpaidCount(dto.getTotalCount() - dto.getPaidCount());
+		dto.setUnpaidTotal(dto.getGrandTotal() - dto.getPaidTotal());
+		return dto;
+	}
+
+	@Transactional(readOnly = true)
+	public String findETag(Long id) {
+		OrderVersionProjection version = repository.findVersionById(id)
+				.orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
+		return eTag(version.getVersion(), version.getProductsVersion(), version.getUserVersion());
+	}
+
+	/*
+	 * The order representation embeds its products and its client, so the tag
+	 * moves with the order version, with the versions of the products on it and
+	 * with the version of the client.
+	 */
+	public String eTag(Order entity) {
+		long productsVersion = 0L;
+		for (OrderItem item : entity.getItems()) {
+			productsVersion += item.getProduct().getVersion();
+		}
+		return eTag(entity.getVersion(), productsVersion, entity.getUser().getVersion());
+	}
+
+	private String eTag(Long version, Long productsVersion, Long userVersion) {
+		return "\"" + version + "-" + productsVersion + "-" + userVersion + "\"";
+	}
+
+	private void checkETag(String current, String ifMatch) {
+		if (ifMatch == null) {
+			return;
+		}
+		boolean matches = Arrays.stream(ifMatch.split(",")).map(String::trim)
+				.anyMatch(tag -> tag.equals("*") || tag.equals(current));
+		if (!matches) {
+			throw new PreconditionFailedException("Pedido alterado por outro usuário. ETag atual: " + current);
+		}
+	}
+
 	@Transactional(readOnly = true)
 	public Order findById(Long id) {
 		Optional<Order> obj = repository.findById(id);
 		return obj.orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
 	}
 
+	@Transactional(readOnly = true)
+	public OrderDTO findByIdIncludingArchived(Long id) {
+		Optional<Order> obj = repository.findById(id);
+		if (obj.isPresent()) {
+			return new OrderDTO(obj.get());
+		}
+		return archivedOrderRepository.findByIdWithItems(id).map(x -> new OrderDTO(x))
+				.orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
+	}
+
 	@Transactional
 	public Order insert(OrderDTO obj) {
+		Map<Long, Product> products = findProducts(obj.getItems());
 		Order entity = new Order();
 		copyDtoToEntity(obj, entity);
+		copyItemsToEntity(obj.getItems(), products, entity);
+		updateTotals(entity);
+		entity.setUpdatedAt(Instant.now());
 		entity = repository.save(entity);
+		RevenueDeltas deltas = new RevenueDeltas();
+		deltas.add(entity);
+		revenueService.apply(deltas);
+		ProductStatsDeltas statsDeltas = new ProductStatsDeltas();
+		statsDeltas.add(entity);
+		productStatsService.apply(statsDeltas);
+		ClientBalanceDeltas balanceDeltas = new ClientBalanceDeltas();
+		balanceDeltas.add(entity);
+		clientBalanceService.apply(balanceDeltas);
+		publishChange(Type.CREATED, entity);
 		return entity;
 	}
 
@@ -71,53 +318,239 @@ public class OrderService {
 	    entity.setServiceDescription(obj.getServiceDescription());
 	    entity.setUser(userRepository.findById(obj.getUser().getId())
 	            .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado: ID " + obj.getUser().getId())));
+	}
 
-	    entity.getItems().clear();
-
-	    Order savedOrder = repository.save(entity);
+	private Map<Long, Product> findProducts(List<OrderItemDTO> items) {
+		Set<Long> ids = new HashSet<>();
+		for (OrderItemDTO item : items) {
+			if (item.getProduct() == null || item.getProduct().getId() == null) {
+				throw new IllegalArgumentException("Produto inválido no item do pedido.");
+			}
+			if (!ids.add(item.getProduct().getId())) {
+				throw new IllegalArgumentException("Produto repetido no pedido: ID " + item.getProduct().getId());
+			}
+		}
+		Map<Long, Product> products = productRepository.findAllById(ids).stream()
+				.collect(Collectors.toMap(Product::getId, Function.identity()));
+		ids.removeAll(products.keySet());
+		if (!ids.isEmpty()) {
+			throw new EntityNotFoundException("Produto não encontrado: ID " + ids);
+		}
+		return products;
+	}
 
-	    for (OrderItemDTO item : obj.getItems()) {
-	        if (item.getProduct() == null || item.getProduct().getId() == null) {
-	            throw new IllegalArgumentException("Produto inválido no item do pedido.");
-	        }
+	private void copyItemsToEntity(List<OrderItemDTO> items, Map<Long, Product> products, Order entity) {
+		Map<Long, OrderItemDTO> incoming = items.stream()
+				.collect(Collectors.toMap(item -> item.getProduct().getId(), Function.identity()));
 
-	        Product product = productRepository.findById(item.getProduct().getId())
-	                .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado: ID " + item.getProduct().getId()));
+		entity.getItems().removeIf(item -> !incoming.containsKey(item.getProduct().getId()));
+		entity.getProducts().removeIf(product -> !incoming.containsKey(product.getId()));
 
-	        OrderItem orderItem = new OrderItem();
-	        orderItem.setOrder(savedOrder);         
-	        orderItem.setProduct(product);          
-	        orderItem.setQuantity(item.getQuantity());
-	        orderItem.setPrice(item.getPrice());
+		Map<Long, OrderItem> existing = entity.getItems().stream()
+				.collect(Collectors.toMap(item -> item.getProduct().getId(), Function.identity()));
+		for (OrderItemDTO item : items) {
+			Product product = products.get(item.getProduct().getId());
+			copyItemToEntity(item, product, existing.get(product.getId()), entity);
+		}
+	}
 
-	        orderItemRepository.save(orderItem);    
-	        savedOrder.getItems().add(orderItem);   
-	        entity.getProducts().add(product); 
-	    }
+	private void copyItemToEntity(OrderItemDTO item, Product product, OrderItem orderItem, Order entity) {
+		if (orderItem == null) {
+			orderItem = new OrderItem();
+			orderItem.setOrder(entity);
+			orderItem.setProduct(product);
+			entity.getItems().add(orderItem);
+		}
+		orderItem.setQuantity(item.getQuantity());
+		orderItem.setPrice(item.getPrice());
+		entity.getProducts().add(product);
+	}
+	
+	private void updateTotals(Order entity) {
+		double total = 0.0;
+		int totalQuantity = 0;
+		for (OrderItem item : entity.getItems()) {
+			total += item.getPrice() * item.getQuantity();
+			totalQuantity += item.getQuantity();
+		}
+		entity.setTotal(total);
+		entity.setTotalQuantity(totalQuantity);
 	}
 	
 	@Transactional
-	public Order update(Long id, OrderDTO obj) {
+	public Order update(Long id, OrderDTO obj, String ifMatch) {
+		Order entity = findForUpdate(id, ifMatch);
+		checkTransition(entity.getStatus(), obj.getStatus());
+		Map<Long, Product> products = findProducts(obj.getItems());
+		RevenueDeltas deltas = new RevenueDeltas();
+		deltas.remove(entity);
+		ProductStatsDeltas statsDeltas = new ProductStatsDeltas();
+		statsDeltas.remove(entity);
+		ClientBalanceDeltas balanceDeltas = new ClientBalanceDeltas();
+		balanceDeltas.remove(entity);
+		copyDtoToEntity(obj, entity);
+		copyItemsToEntity(obj.getItems(), products, entity);
+		updateTotals(entity);
+		entity.setUpdatedAt(Instant.now());
+		deltas.add(entity);
+		revenueService.apply(deltas);
+		statsDeltas.add(entity);
+		productStatsService.apply(statsDeltas);
+		balanceDeltas.add(entity);
+		clientBalanceService.apply(balanceDeltas);
+		publishChange(Type.UPDATED, entity);
+		return repository.save(entity);
+	}
+	
+	@Transactional
+	public Order updateItem(Long id, OrderItemDTO item, String ifMatch) {
+		if (item.getQuantity() == null || item.getQuantity() < 0) {
+			throw new IllegalArgumentException("Quantidade inválida no item do pedido.");
+		}
+		Order entity = findForUpdate(id, ifMatch);
+		Product product = findProducts(List.of(item)).get(item.getProduct().getId());
+		OrderItem orderItem = entity.getItems().stream()
+				.filter(x -> x.getProduct().getId().equals(product.getId()))
+				.findFirst().orElse(null);
+		// removing a missing item or restating an existing one writes nothing and publishes nothing
+		boolean unchanged = item.getQuantity() == 0 ? orderItem == null
+				: orderItem != null && item.getQuantity().equals(orderItem.getQuantity())
+						&& (item.getPrice() == null || item.getPrice().equals(orderItem.getPrice()));
+		if (unchanged) {
+			return entity;
+		}
+		RevenueDeltas deltas = new RevenueDeltas();
+		deltas.remove(entity);
+		ProductStatsDeltas statsDeltas = new ProductStatsDeltas();
+		statsDeltas.remove(entity);
+		ClientBalanceDeltas balanceDeltas = new ClientBalanceDeltas();
+		balanceDeltas.remove(entity);
+		if (item.getQuantity() == 0) {
+			entity.getItems().remove(orderItem);
+			entity.getProducts().remove(product);
+		} else {
+			if (item.getPrice() == null) {
+				item.setPrice(orderItem == null ? product.getPrice() : orderItem.getPrice());
+			}
+			copyItemToEntity(item, product, orderItem, entity);
+		}
+		updateTotals(entity);
+		entity.setUpdatedAt(Instant.now());
+		deltas.add(entity);
+		revenueService.apply(deltas);
+		statsDeltas.add(entity);
+		productStatsService.apply(statsDeltas);
+		balanceDeltas.add(entity);
+		clientBalanceService.apply(balanceDeltas);
+		publishChange(Type.UPDATED, entity);
+		return entity;
+	}
+
+	/*
+	 * The rows are read with a write lock, so the transitions validated here are
+	 * the ones the single set-based UPDATE applies. The UPDATE bumps the version
+	 * of every changed order, which keeps the detail ETags in step.
+	 */
+	@Transactional
+	public List<OrderStatusResultDTO> updateStatus(OrderStatusUpdateDTO dto) {
+		Set<Long> ids = new LinkedHashSet<>(dto.getIds());
+		ids.remove(null);
+		OrderStatus target = dto.getStatus();
+
+		Map<Long, OrderStatusProjection> current = new HashMap<>();
+		for (OrderStatusProjection projection : repository.findStatusByIdsForUpdate(ids)) {
+			current.put(projection.getId(), projection);
+		}
+
+		List<OrderStatusResultDTO> results = new ArrayList<>(ids.size());
+		List<Long> eligible = new ArrayList<>();
+		RevenueDeltas deltas = new RevenueDeltas();
+		ClientBalanceDeltas balanceDeltas = new ClientBalanceDeltas();
+		List<Long> statsIds = new ArrayList<>();
+		for (Long id : ids) {
+			OrderStatusProjection row = current.get(id);
+			OrderStatus previous = row == null ? null : row.getStatus();
+			if (row == null) {
+				results.add(new OrderStatusResultDTO(id, Result.NOT_FOUND, null, null));
+			} else if (previous == target) {
+				results.add(new OrderStatusResultDTO(id, Result.UNCHANGED, previous, previous));
+			} else if (previous != null && !previous.canTransitionTo(target)) {
+				results.add(new OrderStatusResultDTO(id, Result.INVALID_TRANSITION, previous, previous));
+			} else {
+				results.add(new OrderStatusResultDTO(id, Result.UPDATED, previous, target));
+				eligible.add(id);
+				boolean paid = row.getPaymentStatus() == PaymentStatus.PAID;
+				deltas.add(row.getDeliveryDate(), previous, row.getTotal(), row.getTotalQuantity(), paid, -1);
+				deltas.add(row.getDeliveryDate(), target, row.getTotal(), row.getTotalQuantity(), paid, 1);
+				balanceDeltas.add(row.getUserId(), previous, row.getTotal(), paid, -1);
+				balanceDeltas.add(row.getUserId(), target, row.getTotal(), paid, 1);
+				if (ProductStatsDeltas.counts(previous) != ProductStatsDeltas.counts(target)) {
+					statsIds.add(id);
+				}
+				eventPublisher.publishEvent(new OrderChangeDTO(Type.STATUS_CHANGED, id, row.getUserId(), target));
+			}
+		}
+		if (!eligible.isEmpty()) {
+			repository.updateStatus(eligible, target, Instant.now());
+			revenueService.apply(deltas);
+			clientBalanceService.apply(balanceDeltas);
+		}
+		if (!statsIds.isEmpty()) {
+			ProductStatsDeltas statsDeltas = new ProductStatsDeltas();
+			statsDeltas.add(orderItemRepository.findStatsByOrderIds(statsIds), ProductStatsDeltas.counts(target) ? 1 : -1);
+			productStatsService.apply(statsDeltas);
+		}
+		return results;
+	}
+
+	private void publishChange(Type type, Order entity) {
+		eventPublisher.publishEvent(new OrderChangeDTO(type, entity.getId(), entity.getUser().getId(), entity.getStatus()));
+	}
+
+	private void checkTransition(OrderStatus previous, OrderStatus target) {
+		if (previous != null && target != null && previous != target && !previous.canTransitionTo(target)) {
+			throw new IllegalArgumentException("Transição de status inválida: " + previous + " -> " + target);
+		}
+	}
+
+	private Order findForUpdate(Long id, String ifMatch) {
 		try {
 			Order entity = repository.getReferenceById(id);
-			copyDtoToEntity(obj, entity);
-			return repository.save(entity);
+			checkETag(eTag(entity), ifMatch);
+			return entity;
 		} catch (EntityNotFoundException e) {
 			throw new ResourceNotFoundException("Id not found " + id);
 		}
 	}
 	
-	@Transactional(propagation = Propagation.SUPPORTS)
+	@Transactional
 	public void delete(Long id) {
 
-		if (!repository.existsById(id)) {
+		Optional<OrderStatusProjection> row = repository.findStatusById(id);
+		if (row.isEmpty()) {
 			throw new EntityNotFoundException("Id not found " + id);
 		} else {
+			ProductStatsDeltas statsDeltas = new ProductStatsDeltas();
+			if (ProductStatsDeltas.counts(row.get().getStatus())) {
+				statsDeltas.add(orderItemRepository.findStatsByOrderIds(List.of(id)), -1);
+			}
 			try {
 				repository.deleteById(id);
+				repository.flush();
 			} catch (DataIntegrityViolationException e) {
 				throw new DatabaseException("");
 			}
+			Long userId = row.get().getUserId();
+			boolean paid = row.get().getPaymentStatus() == PaymentStatus.PAID;
+			RevenueDeltas deltas = new RevenueDeltas();
+			deltas.add(row.get().getDeliveryDate(), row.get().getStatus(), row.get().getTotal(), row.get().getTotalQuantity(), paid, -1);
+			revenueService.apply(deltas);
+			productStatsService.apply(statsDeltas);
+			ClientBalanceDeltas balanceDeltas = new ClientBalanceDeltas();
+			balanceDeltas.add(userId, row.get().getStatus(), row.get().getTotal(), paid, -1);
+			clientBalanceService.apply(balanceDeltas);
+			tombstoneRepository.save(new OrderTombstone(id, userId, Instant.now()));
+			eventPublisher.publishEvent(new OrderChangeDTO(Type.DELETED, id, userId, null));
 		}
 	}
 
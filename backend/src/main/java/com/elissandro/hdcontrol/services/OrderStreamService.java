@@ -0,0 +1,230 @@
+package com.elissandro.hdcontrol.services;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.elissandro.hdcontrol.dtos.OrderChangeDTO;
+
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Fan-out of committed order changes to Server-Sent Events subscribers.
+ *
+ * Idle connections hold no thread: the emitters are async responses, and a
+ * small dispatcher pool drains each subscriber's bounded queue. A subscriber
+ * that falls a full queue behind is disconnected and resumes with
+ * Last-Event-ID from the in-memory history, or gets a "reset" event telling
+ * it to reload when the gap is no longer there. Event ids carry the broker's
+ * start time, so ids from before a restart also lead to a reset.
+ */
+@Service
+public class OrderStreamService {
+
+	@Value("${orders.stream.timeout-ms:1800000}")
+	private long timeout;
+
+	@Value("${orders.stream.buffer-size:256}")
+	private int bufferSize;
+
+	@Value("${orders.stream.history-size:1000}")
+	private int historySize;
+
+	@Autowired
+	private AuthService authService;
+
+	private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+	private long sequence;
+	private final Deque<OrderChangeDTO> history = new ArrayDeque<>();
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+	private final ExecutorService dispatcher = Executors.newFixedThreadPool(2, daemon("order-stream-"));
+	private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(daemon("order-stream-heartbeat-"));
+
+	public OrderStreamService() {
+		heartbeat.scheduleAtFixedRate(() -> subscribers.forEach(s -> enqueue(s, SseEmitter.event().comment("ping"))),
+				25, 25, TimeUnit.SECONDS);
+	}
+
+	public SseEmitter subscribe(String lastEventId) {
+		Subscriber subscriber = new Subscriber(new SseEmitter(timeout), clientUserId(), bufferSize);
+		subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+		subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+		subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+
+		synchronized (history) {
+			if (lastEventId != null && !lastEventId.isBlank()) {
+				List<OrderChangeDTO> missed = missedSince(lastEventId);
+				if (missed == null || missed.size() >= bufferSize) {
+					subscriber.queue.offer(SseEmitter.event().name("reset").data("{}", MediaType.APPLICATION_JSON));
+				} else {
+					missed.stream().filter(subscriber::accepts).forEach(e -> subscriber.queue.offer(event(e)));
+				}
+			}
+			subscriber.queue.offer(SseEmitter.event().comment("connected"));
+			subscribers.add(subscriber);
+		}
+		schedule(subscriber);
+		return subscriber.emitter;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onOrderChange(OrderChangeDTO change) {
+		synchronized (history) {
+			change.setId(epoch + "-" + (++sequence));
+			history.addLast(change);
+			if (history.size() > historySize) {
+				history.removeFirst();
+			}
+			for (Subscriber subscriber : subscribers) {
+				if (subscriber.accepts(change)) {
+					enqueue(subscriber, event(change));
+				}
+			}
+		}
+	}
+
+	public int getSubscriberCount() {
+		return subscribers.size();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		heartbeat.shutdownNow();
+		dispatcher.shutdownNow();
+		subscribers.forEach(s -> s.emitter.complete());
+	}
+
+	/*
+	 * Returns the events after lastEventId, or null when they are no longer in
+	 * the history (or the id comes from another broker start).
+	 */
+	private List<OrderChangeDTO> missedSince(String lastEventId) {
+		int dash = lastEventId.indexOf('-');
+		if (dash < 0 || !epoch.equals(lastEventId.substring(0, dash))) {
+			return null;
+		}
+		long last;
+		try {
+			last = Long.parseLong(lastEventId.substring(dash + 1));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+		if (last > sequence) {
+			return null;
+		}
+		long oldest = sequence - history.size() + 1;
+		if (last < oldest - 1) {
+			return null;
+		}
+		List<OrderChangeDTO> missed = new ArrayList<>();
+		long id = oldest;
+		for (OrderChangeDTO change : history) {
+			if (id++ > last) {
+				missed.add(change);
+			}
+		}
+		return missed;
+	}
+
+	private void enqueue(Subscriber subscriber, SseEventBuilder event) {
+		if (!subscriber.queue.offer(event)) {
+			subscribers.remove(subscriber);
+			subscriber.emitter.complete();
+			return;
+		}
+		schedule(subscriber);
+	}
+
+	private void schedule(Subscriber subscriber) {
+		if (subscriber.scheduled.compareAndSet(false, true)) {
+			dispatcher.execute(() -> drain(subscriber));
+		}
+	}
+
+	private void drain(Subscriber subscriber) {
+		try {
+			SseEventBuilder event;
+			while ((event = subscriber.queue.poll()) != null) {
+				subscriber.emitter.send(event);
+			}
+		} catch (IOException | IllegalStateException e) {
+			subscribers.remove(subscriber);
+			subscriber.queue.clear();
+		} finally {
+			subscriber.scheduled.set(false);
+		}
+		if (!subscriber.queue.isEmpty() && subscribers.contains(subscriber)) {
+			schedule(subscriber);
+		}
+	}
+
+	private SseEventBuilder event(OrderChangeDTO change) {
+		return SseEmitter.event().id(change.getId()).name(change.getType().name()).data(change, MediaType.APPLICATION_JSON);
+	}
+
+	/*
+	 * Clients only see changes to their own orders; staff see everything.
+	 */
+	private Long clientUserId() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		boolean staff = false;
+		boolean client = false;
+		for (GrantedAuthority authority : authentication.getAuthorities()) {
+			staff |= authority.getAuthority().equals("ROLE_ADMIN") || authority.getAuthority().equals("ROLE_USER");
+			client |= authority.getAuthority().equals("ROLE_CLIENT");
+		}
+		return client && !staff ? authService.authenticated().getId() : null;
+	}
+
+	private static ThreadFactory daemon(String prefix) {
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	private static class Subscriber {
+
+		private final SseEmitter emitter;
+		private final Long userId;
+		private final BlockingQueue<SseEventBuilder> queue;
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		Subscriber(SseEmitter emitter, Long userId, int bufferSize) {
+			this.emitter = emitter;
+			this.userId = userId;
+			this.queue = new ArrayBlockingQueue<>(bufferSize + 1);
+		}
+
+		boolean accepts(OrderChangeDTO change) {
+			return userId == null || change.getUserId() == null || userId.equals(change.getUserId());
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package com.elissandro.hdcontrol.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+public class OrderSyncToken {
+
+	private static final String SEPARATOR = "|";
+
+	private final Instant updatedAt;
+	private final Long id;
+
+	public OrderSyncToken(Instant updatedAt, Long id) {
+		this.updatedAt = updatedAt;
+		this.id = id;
+	}
+
+	public static OrderSyncToken first() {
+		return new OrderSyncToken(Instant.EPOCH, 0L);
+	}
+
+	public static OrderSyncToken decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			String[] parts = raw.split("\\|", -1);
+			if (parts.length != 2) {
+				throw new IllegalArgumentException();
+			}
+			return new OrderSyncToken(Instant.parse(parts[0]), Long.valueOf(parts[1]));
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid sync token");
+		}
+	}
+
+	public String encode() {
+		String raw = updatedAt + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+}
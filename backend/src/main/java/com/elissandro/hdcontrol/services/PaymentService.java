@@ -5,12 +5,16 @@ import java.time.Instant;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.elissandro.hdcontrol.dtos.OrderChangeDTO;
+import com.elissandro.hdcontrol.dtos.OrderChangeDTO.Type;
 import com.elissandro.hdcontrol.dtos.PaymentDTO;
+import com.elissandro.hdcontrol.entities.Order;
 import com.elissandro.hdcontrol.entities.Payment;
 import com.elissandro.hdcontrol.entities.enums.PaymentStatus;
 import com.elissandro.hdcontrol.repositories.OrderRepository;
@@ -28,6 +32,15 @@ public class PaymentService implements Serializable {
 	
 	@Autowired
 	private OrderRepository orderRepository;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private DailyRevenueService revenueService;
+
+	@Autowired
+	private ClientBalanceService clientBalanceService;
 	
 	PaymentStatus paymentStatus;
 	
@@ -51,7 +64,18 @@ public class PaymentService implements Serializable {
 		entity.setMoment(Instant.now());
 		entity.setStatus(paymentStatus.PENDING);
 		entity.setOrder(orderRepository.getReferenceById(dto.getId()));
+		touch(entity);
+		RevenueDeltas deltas = new RevenueDeltas();
+		deltas.remove(entity.getOrder());
+		ClientBalanceDeltas balanceDeltas = new ClientBalanceDeltas();
+		balanceDeltas.remove(entity.getOrder());
 		entity = repository.save(entity);
+		entity.getOrder().setPayment(entity);
+		deltas.add(entity.getOrder());
+		revenueService.apply(deltas);
+		balanceDeltas.add(entity.getOrder());
+		clientBalanceService.apply(balanceDeltas);
+		publishChange(entity);
 		return new PaymentDTO(entity);
 	}
 	
@@ -59,13 +83,38 @@ public class PaymentService implements Serializable {
 	public PaymentDTO update(Long id, PaymentDTO dto) {
 		try {
 			Payment entity = repository.getReferenceById(id);
+			RevenueDeltas deltas = new RevenueDeltas();
+			deltas.remove(entity.getOrder());
+			ClientBalanceDeltas balanceDeltas = new ClientBalanceDeltas();
+			balanceDeltas.remove(entity.getOrder());
 			entity.setMoment(Instant.now());
 			entity.setStatus(dto.getStatus());
+			touch(entity);
 			entity = repository.save(entity);
+			deltas.add(entity.getOrder());
+			revenueService.apply(deltas);
+			balanceDeltas.add(entity.getOrder());
+			clientBalanceService.apply(balanceDeltas);
+			publishChange(entity);
 			return new PaymentDTO(entity);
 		} catch (EntityNotFoundException e) {
 			throw new ResourceNotFoundException("Id not found " + id);
 		}
 	}
 
+	/*
+	 * The order is stamped too, so /orders/changes picks up payment changes
+	 * without having to scan tb_payment.
+	 */
+	private void touch(Payment entity) {
+		Instant now = Instant.now();
+		entity.setUpdatedAt(now);
+		entity.getOrder().setUpdatedAt(now);
+	}
+
+	private void publishChange(Payment entity) {
+		Order order = entity.getOrder();
+		eventPublisher.publishEvent(new OrderChangeDTO(Type.PAYMENT_CHANGED, order.getId(), order.getUser().getId(), order.getStatus()));
+	}
+
 }
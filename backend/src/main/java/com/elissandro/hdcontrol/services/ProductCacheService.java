@@ -0,0 +1,51 @@
+package com.elissandro.hdcontrol.services;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.elissandro.hdcontrol.config.CacheConfig;
+import com.elissandro.hdcontrol.dtos.CacheStatsDTO;
+
+/*
+ * Drops the product caches once a product write has committed. A changed
+ * product drops only its own entry; an old row put back by a reader racing
+ * the write is replaced on the next read, which checks the row version.
+ * Pages are keyed by the catalog version ProductService bumps right after
+ * this listener, so dropping them whole only frees memory early; any write
+ * can move rows between pages and change their totals.
+ */
+@Service
+public class ProductCacheService {
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChange(ProductChangeEvent event) {
+		if (event.getProductId() == null) {
+			cache(CacheConfig.PRODUCTS).clear();
+		} else {
+			cache(CacheConfig.PRODUCTS).evict(event.getProductId());
+		}
+		cache(CacheConfig.PRODUCT_PAGES).clear();
+	}
+
+	public List<CacheStatsDTO> stats() {
+		return List.of(CacheConfig.PRODUCTS, CacheConfig.PRODUCT_PAGES).stream().map(name -> {
+			CaffeineCache cache = cache(name);
+			return new CacheStatsDTO(name, cache.getNativeCache().estimatedSize(), cache.getNativeCache().stats());
+		}).toList();
+	}
+
+	private CaffeineCache cache(String name) {
+		return (CaffeineCache) cacheManager.getCache(name);
+	}
+}
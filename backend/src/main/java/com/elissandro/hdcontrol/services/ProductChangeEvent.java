@@ -0,0 +1,18 @@
+package com.elissandro.hdcontrol.services;
+
+/*
+ * Published by product writes and delivered after commit to whatever keeps a
+ * copy of the catalog. A null id means any number of products changed.
+ */
+public class ProductChangeEvent {
+
+	private final Long productId;
+
+	public ProductChangeEvent(Long productId) {
+		this.productId = productId;
+	}
+
+	public Long getProductId() {
+		return productId;
+	}
+}
@@ -0,0 +1,300 @@
+package com.elissandro.hdcontrol.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.elissandro.hdcontrol.dtos.ProductDTO;
+import com.elissandro.hdcontrol.dtos.ProductImportResultDTO;
+import com.elissandro.hdcontrol.dtos.ProductImportRowDTO;
+import com.elissandro.hdcontrol.dtos.ProductImportRowDTO.Status;
+
+/*
+ * Upsert of supplier price lists keyed by name and brand, compared without
+ * case. A match updates description and price, a miss inserts a new product,
+ * and a key held by several products is rejected. Rows are written in JDBC
+ * batches, one transaction per chunk, and each committed chunk publishes a
+ * single catalog-wide ProductChangeEvent instead of one per product.
+ */
+@Service
+public class ProductImportService {
+
+	public static final String CSV_HEADER = "name,brand,description,price";
+
+	private static final String INSERT_PRODUCT = "INSERT INTO tb_product (name, description, price, brand, version) VALUES (?, ?, ?, ?, 0)";
+	private static final String UPDATE_PRODUCT = "UPDATE tb_product SET description = ?, price = ?, version = version + 1 WHERE id = ?";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Value("${import.products.chunk-size:500}")
+	private int defaultChunkSize;
+
+	public ProductImportResultDTO upsert(List<ProductDTO> products, Integer chunkSize) {
+		Importer importer = new Importer(chunkSize);
+		for (int i = 0; i < products.size(); i++) {
+			ProductDTO dto = products.get(i);
+			ImportProduct product = new ImportProduct(i + 1);
+			if (dto == null) {
+				product.error = "Produto inválido.";
+			} else {
+				product.name = trim(dto.getName());
+				product.brand = trim(dto.getBrand());
+				product.description = trim(dto.getDescription());
+				product.price = dto.getPrice();
+			}
+			importer.add(product);
+		}
+		return importer.finish();
+	}
+
+	public ProductImportResultDTO importCsv(InputStream in, Integer chunkSize) throws IOException {
+		Importer importer = new Importer(chunkSize);
+		CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+		List<String> header = reader.next();
+		if (header == null) {
+			return importer.finish();
+		}
+		Map<String, Integer> columns = new HashMap<>();
+		for (int i = 0; i < header.size(); i++) {
+			columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+		}
+		if (!columns.containsKey("name") || !columns.containsKey("brand") || !columns.containsKey("price")) {
+			throw new IllegalArgumentException("Cabeçalho CSV inválido, esperado: " + CSV_HEADER);
+		}
+
+		List<String> record;
+		while ((record = reader.next()) != null) {
+			ImportProduct product = new ImportProduct(reader.getRecordLine());
+			product.name = field(record, columns, "name");
+			product.brand = field(record, columns, "brand");
+			product.description = field(record, columns, "description");
+			String price = field(record, columns, "price");
+			try {
+				product.price = price == null ? null : Double.valueOf(price);
+			} catch (NumberFormatException e) {
+				product.error = "Preço inválido: " + price;
+			}
+			importer.add(product);
+		}
+		return importer.finish();
+	}
+
+	static String productKey(String name, String brand) {
+		return (name == null ? "" : name.trim().toLowerCase(Locale.ROOT)) + "|"
+				+ (brand == null ? "" : brand.trim().toLowerCase(Locale.ROOT));
+	}
+
+	private static String field(List<String> record, Map<String, Integer> columns, String name) {
+		Integer index = columns.get(name);
+		return index == null || index >= record.size() ? null : trim(record.get(index));
+	}
+
+	private static String trim(String value) {
+		if (value == null) {
+			return null;
+		}
+		value = value.trim();
+		return value.isEmpty() ? null : value;
+	}
+
+	private class Importer {
+
+		private final ProductImportResultDTO result = new ProductImportResultDTO();
+		private final long start = System.currentTimeMillis();
+		private final int chunkSize;
+		private final List<ImportProduct> chunk = new ArrayList<>();
+		private final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+		// a null value marks a name and brand shared by several products
+		private final Map<String, Existing> existing = new HashMap<>();
+		private final Map<String, Long> linesByKey = new HashMap<>();
+
+		Importer(Integer chunkSize) {
+			this.chunkSize = Math.max(1, Math.min(chunkSize == null ? defaultChunkSize : chunkSize, 5000));
+			jdbcTemplate.query("SELECT id, name, brand, description, price FROM tb_product", rs -> {
+				String key = productKey(rs.getString(2), rs.getString(3));
+				Existing product = new Existing(rs.getLong(1), rs.getString(4), rs.getObject(5, Double.class));
+				existing.put(key, existing.containsKey(key) ? null : product);
+			});
+		}
+
+		void add(ImportProduct product) {
+			ProductImportRowDTO row = result.addRow(product.line);
+			product.row = row;
+			if (product.error == null) {
+				validate(product);
+			}
+			if (product.error != null) {
+				result.reject(row, product.error);
+				return;
+			}
+			if (product.existing != null && Objects.equals(product.price, product.existing.price)
+					&& (product.description == null || product.description.equals(product.existing.description))) {
+				result.complete(row, Status.UNCHANGED, product.existing.id);
+				return;
+			}
+			chunk.add(product);
+			if (chunk.size() >= chunkSize) {
+				flush();
+			}
+		}
+
+		private void validate(ImportProduct product) {
+			if (product.name == null || product.brand == null) {
+				product.error = "Nome e marca são obrigatórios.";
+				return;
+			}
+			if (product.price == null || product.price <= 0) {
+				product.error = "Preço inválido: " + product.price;
+				return;
+			}
+			String key = productKey(product.name, product.brand);
+			Long previous = linesByKey.putIfAbsent(key, product.line);
+			if (previous != null) {
+				product.error = "Produto repetido, já informado na linha " + previous + ": " + product.name + " " + product.brand;
+				return;
+			}
+			if (existing.containsKey(key) && existing.get(key) == null) {
+				product.error = "Produto ambíguo, há mais de um cadastro com este nome e marca: " + product.name + " " + product.brand;
+				return;
+			}
+			product.existing = existing.get(key);
+			if (product.existing == null && product.description == null) {
+				product.error = "Descrição obrigatória para produto novo: " + product.name + " " + product.brand;
+			}
+		}
+
+		private void flush() {
+			if (chunk.isEmpty()) {
+				return;
+			}
+			try {
+				transactionTemplate.executeWithoutResult(status -> write(chunk));
+				publish();
+				for (ImportProduct product : chunk) {
+					if (product.id == null) {
+						result.reject(product.row, "Produto removido durante a importação: ID " + product.existing.id);
+					} else {
+						result.complete(product.row, product.existing == null ? Status.INSERTED : Status.UPDATED, product.id);
+					}
+				}
+			} catch (DataAccessException e) {
+				String message = "Falha ao gravar o lote: " + e.getMostSpecificCause().getMessage();
+				for (ImportProduct product : chunk) {
+					result.reject(product.row, message);
+				}
+			}
+			chunk.clear();
+		}
+
+		private void write(List<ImportProduct> products) {
+			List<ImportProduct> inserts = products.stream().filter(p -> p.existing == null).toList();
+			List<ImportProduct> updates = products.stream().filter(p -> p.existing != null).toList();
+
+			KeyHolder keys = new GeneratedKeyHolder();
+			if (!inserts.isEmpty()) {
+				jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_PRODUCT, new String[] { "id" }),
+						new BatchPreparedStatementSetter() {
+							@Override
+							public void setValues(PreparedStatement ps, int i) throws SQLException {
+								ImportProduct product = inserts.get(i);
+								ps.setString(1, product.name);
+								ps.setString(2, product.description);
+								ps.setDouble(3, product.price);
+								ps.setString(4, product.brand);
+							}
+
+							@Override
+							public int getBatchSize() {
+								return inserts.size();
+							}
+						}, keys);
+			}
+			int[] counts = jdbcTemplate.batchUpdate(UPDATE_PRODUCT, updates.stream()
+					.map(p -> new Object[] { p.description != null ? p.description : p.existing.description, p.price, p.existing.id })
+					.toList());
+
+			List<Map<String, Object>> keyList = keys.getKeyList();
+			for (int i = 0; i < inserts.size(); i++) {
+				inserts.get(i).id = ((Number) keyList.get(i).values().iterator().next()).longValue();
+			}
+			for (int i = 0; i < updates.size(); i++) {
+				updates.get(i).id = counts[i] == 0 ? null : updates.get(i).existing.id;
+			}
+		}
+
+		/*
+		 * One catalog-wide event per committed chunk, published outside its
+		 * transaction, so caches and indexes catch up with each chunk instead
+		 * of with each product or only at the end of a long import.
+		 */
+		private void publish() {
+			eventPublisher.publishEvent(new ProductChangeEvent(null));
+		}
+
+		ProductImportResultDTO finish() {
+			flush();
+			result.setElapsedMillis(System.currentTimeMillis() - start);
+			return result;
+		}
+	}
+
+	private static class Existing {
+
+		private final long id;
+		private final String description;
+		private final Double price;
+
+		Existing(long id, String description, Double price) {
+			this.id = id;
+			this.description = description;
+			this.price = price;
+		}
+	}
+
+	private static class ImportProduct {
+
+		private final long line;
+		private String name;
+		private String brand;
+		private String description;
+		private Double price;
+		private Existing existing;
+		private Long id;
+		private ProductImportRowDTO row;
+		private String error;
+
+		ImportProduct(long line) {
+			this.line = line;
+		}
+	}
+}
@@ -1,19 +1,39 @@
 package com.elissandro.hdcontrol.services;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import com.elissandro.hdcontrol.config.CacheConfig;
+import com.elissandro.hdcontrol.dtos.BrandCountDTO;
+import com.elissandro.hdcontrol.dtos.ProductDTO;
 import com.elissandro.hdcontrol.entities.Product;
 import com.elissandro.hdcontrol.repositories.ProductRepository;
+import com.elissandro.hdcontrol.repositories.ProductTextSearchRepository;
 import com.elissandro.hdcontrol.services.exceptions.DatabaseException;
+import com.elissandro.hdcontrol.services.exceptions.PreconditionFailedException;
 import com.elissandro.hdcontrol.services.exceptions.ResourceNotFoundException;
 
 @Service
@@ -22,9 +42,72 @@ public class ProductService {
 	@Autowired
 	private ProductRepository repository;
 
+	@Autowired
+	private ProductStatsService productStatsService;
+
+	@Autowired
+	private ProductTextSearchRepository textSearchRepository;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	private final String catalogEpoch = Long.toString(System.currentTimeMillis(), 36);
+	private final AtomicLong catalogVersion = new AtomicLong();
+
+	/*
+	 * A name is searched through the trigram index and ranked by similarity,
+	 * which takes precedence over the requested sort. The caller passes the
+	 * catalog version it built its ETag from; it only keys the cache.
+	 */
+	@Cacheable(cacheNames = CacheConfig.PRODUCT_PAGES, key = "{#version, #name, #brand, #pageable}")
 	@Transactional(readOnly = true)
-	public Page<Product> findAllPaged(String name, Pageable pageable) {
-		return repository.findProductByName(name, pageable);
+	public Page<ProductDTO> findAllPaged(long version, String name, String brand, Pageable pageable) {
+		brand = brand == null || brand.isBlank() ? null : brand;
+		if (name == null || name.isBlank()) {
+			Page<Product> page = brand == null ? repository.findAll(pageable) : repository.findByBrand(brand, pageable);
+			return page.map(ProductDTO::new);
+		}
+		Page<Long> page = textSearchRepository.searchProductIdsByName(name.trim(), brand, pageable);
+		Map<Long, Product> products = repository.findAllById(page.getContent()).stream()
+				.collect(Collectors.toMap(Product::getId, Function.identity()));
+		List<ProductDTO> content = page.getContent().stream().map(products::get).filter(Objects::nonNull)
+				.map(ProductDTO::new).toList();
+		return new PageImpl<>(content, pageable, page.getTotalElements());
+	}
+
+	/*
+	 * Products per brand among the name matches, ignoring any brand filter so
+	 * the other brands stay selectable. Cached with the pages and dropped with
+	 * them on every write.
+	 */
+	@Cacheable(cacheNames = CacheConfig.PRODUCT_PAGES, key = "{'brands', #version, #name}")
+	@Transactional(readOnly = true)
+	public List<BrandCountDTO> countBrands(long version, String name) {
+		if (name == null || name.isBlank()) {
+			return repository.countByBrand();
+		}
+		return textSearchRepository.countBrandsByName(name.trim());
+	}
+
+	/*
+	 * Cached read for GET /products/{id}, keyed by id so a write evicts just
+	 * its own product. The caller passes the row version it validated the
+	 * request with; an entry of another version, put back by a reader racing
+	 * a write, is replaced. Writes go through findById, which always reads the
+	 * row.
+	 */
+	@Transactional(readOnly = true)
+	public ProductDTO findDtoById(Long id, long version) {
+		Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+		ProductDTO dto = cache.get(id, ProductDTO.class);
+		if (dto == null || !Objects.equals(dto.getVersion(), version)) {
+			dto = new ProductDTO(findById(id));
+			cache.put(id, dto);
+		}
+		return dto;
 	}
 
 	@Transactional(readOnly = true)
@@ -34,19 +117,82 @@ public class ProductService {
 		return product;
 	}
 
+	/*
+	 * Validator for GET /products/{id}, read from the version column alone so
+	 * a 304 never loads the product.
+	 */
+	@Transactional(readOnly = true)
+	public long findVersion(Long id) {
+		return repository.findVersionById(id).orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
+	}
+
+	public String eTag(Product entity) {
+		return eTag(entity.getVersion());
+	}
+
+	public String eTag(ProductDTO dto) {
+		return eTag(dto.getVersion());
+	}
+
+	public String eTag(Long version) {
+		return "\"" + version + "\"";
+	}
+
+	/*
+	 * Bumped after every committed product write. Page readers take it once
+	 * per request and use it both in the cache key and in the ETag, so a page
+	 * loaded before a write can only be served under the tag it was read with.
+	 */
+	public long catalogVersion() {
+		return catalogVersion.get();
+	}
+
+	/*
+	 * Validator for GET /products. The epoch keeps tags from before a restart
+	 * from matching.
+	 */
+	public String catalogETag(long version) {
+		return "W/\"" + catalogEpoch + "-" + version + "\"";
+	}
+
+	@Order(Ordered.LOWEST_PRECEDENCE)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChange(ProductChangeEvent event) {
+		catalogVersion.incrementAndGet();
+	}
+
+	private void checkETag(String current, String ifMatch) {
+		if (ifMatch == null) {
+			return;
+		}
+		boolean matches = Arrays.stream(ifMatch.split(",")).map(String::trim)
+				.anyMatch(tag -> tag.equals("*") || tag.equals(current));
+		if (!matches) {
+			throw new PreconditionFailedException("Produto alterado por outro usuário. ETag atual: " + current);
+		}
+	}
+
 	@Transactional
 	public Product insert(Product product) {
 		Product entity = new Product();
 		copyDtoToEntity(product, entity);
 		entity = repository.save(entity);
+		eventPublisher.publishEvent(new ProductChangeEvent(entity.getId()));
 		return entity;
 	}
 	
 	@Transactional
-	public Product update(Long id, Product product) {
+	public Product update(Long id, Product product, String ifMatch) {
 		Product entity = repository.getReferenceById(id);
+		checkETag(eTag(entity), ifMatch);
+		String previousBrand = entity.getBrand();
 		copyDtoToEntity(product, entity);
 		entity = repository.save(entity);
+		if (!Objects.equals(previousBrand, entity.getBrand())) {
+			repository.flush();
+			productStatsService.brandChanged(previousBrand, entity.getBrand());
+		}
+		eventPublisher.publishEvent(new ProductChangeEvent(id));
 		return entity;
 	}
 
@@ -61,7 +207,9 @@ public class ProductService {
 	public void delete(Long id) {
 		try {
 			if(repository.existsById(id)) {
+				productStatsService.productDeleted(id);
 				repository.deleteById(id);
+				eventPublisher.publishEvent(new ProductChangeEvent(id));
 			} else {
 				throw new ResourceNotFoundException("Resource not found");
 			}
@@ -0,0 +1,112 @@
+package com.elissandro.hdcontrol.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.elissandro.hdcontrol.entities.Order;
+import com.elissandro.hdcontrol.entities.OrderItem;
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+import com.elissandro.hdcontrol.projections.OrderItemStatsProjection;
+
+/*
+ * Collects the product and brand counter changes of one transaction, the same
+ * way RevenueDeltas does for the daily rollup. Cancelled orders do not count,
+ * so only edits of live orders and transitions to or from CANCELED move the
+ * counters. A brand counts an order once, however many of its products the
+ * order holds. Rows come out in key order, so concurrent writers lock them in
+ * the same order.
+ */
+public class ProductStatsDeltas {
+
+	private final Map<Long, double[]> products = new TreeMap<>();
+	private final Map<String, double[]> brands = new TreeMap<>();
+
+	public static boolean counts(OrderStatus status) {
+		return status != OrderStatus.CANCELED;
+	}
+
+	public void add(Order order) {
+		add(order, 1);
+	}
+
+	public void remove(Order order) {
+		add(order, -1);
+	}
+
+	private void add(Order order, int sign) {
+		if (!counts(order.getStatus())) {
+			return;
+		}
+		Set<String> orderBrands = new HashSet<>();
+		for (OrderItem item : order.getItems()) {
+			addItem(item.getProduct().getId(), item.getProduct().getBrand(), item.getQuantity(), item.getPrice(), sign);
+			orderBrands.add(item.getProduct().getBrand());
+		}
+		addOrder(orderBrands, sign);
+	}
+
+	/*
+	 * Items of one or more orders, all entering (1) or leaving (-1) the counters.
+	 */
+	public void add(Collection<OrderItemStatsProjection> items, int sign) {
+		Map<Long, Set<String>> orderBrands = new LinkedHashMap<>();
+		for (OrderItemStatsProjection item : items) {
+			addItem(item.getProductId(), item.getBrand(), item.getQuantity(), item.getPrice(), sign);
+			orderBrands.computeIfAbsent(item.getOrderId(), x -> new HashSet<>()).add(item.getBrand());
+		}
+		orderBrands.values().forEach(x -> addOrder(x, sign));
+	}
+
+	/*
+	 * One order line; also counts the order for the product, which appears at
+	 * most once per order. Brand order counts come from addOrder.
+	 */
+	public void addItem(Long productId, String brand, Integer quantity, Double price, int sign) {
+		double qty = quantity == null ? 0 : quantity;
+		double revenue = price == null ? 0.0 : price * qty;
+		double[] product = products.computeIfAbsent(productId, x -> new double[3]);
+		product[0] += sign * qty;
+		product[1] += sign * revenue;
+		product[2] += sign;
+		if (brand != null) {
+			double[] delta = brands.computeIfAbsent(brand, x -> new double[3]);
+			delta[0] += sign * qty;
+			delta[1] += sign * revenue;
+		}
+	}
+
+	public void addOrder(Collection<String> orderBrands, int sign) {
+		for (String brand : new HashSet<>(orderBrands)) {
+			if (brand != null) {
+				brands.computeIfAbsent(brand, x -> new double[3])[2] += sign;
+			}
+		}
+	}
+
+	List<Object[]> productRows() {
+		List<Object[]> rows = new ArrayList<>();
+		products.forEach((id, delta) -> {
+			if (delta[0] != 0 || delta[1] != 0 || delta[2] != 0) {
+				rows.add(new Object[] { id, (long) delta[0], delta[1], (long) delta[2] });
+			}
+		});
+		return rows;
+	}
+
+	List<Object[]> brandRows() {
+		List<Object[]> rows = new ArrayList<>();
+		brands.forEach((brand, delta) -> {
+			if (delta[0] != 0 || delta[1] != 0 || delta[2] != 0) {
+				rows.add(new Object[] { brand, (long) delta[0], delta[1], (long) delta[2] });
+			}
+		});
+		return rows;
+	}
+
+}
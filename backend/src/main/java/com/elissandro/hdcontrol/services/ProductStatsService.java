@@ -0,0 +1,126 @@
+package com.elissandro.hdcontrol.services;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.elissandro.hdcontrol.dtos.BrandStatsDTO;
+import com.elissandro.hdcontrol.dtos.ProductStatsDTO;
+import com.elissandro.hdcontrol.repositories.BrandStatsRepository;
+import com.elissandro.hdcontrol.repositories.ProductStatsRepository;
+import com.elissandro.hdcontrol.repositories.ReportUpsertRepository;
+
+@Service
+public class ProductStatsService {
+
+	private static final int DEFAULT_LIMIT = 10;
+	private static final int MAX_LIMIT = 100;
+
+	private static final String COUNTED_ITEMS = "("
+			+ "SELECT i.order_id, i.product_id, i.quantity, i.price FROM tb_order_item i "
+			+ "JOIN tb_order o ON o.id = i.order_id WHERE o.status IS NULL OR o.status <> 'CANCELED' "
+			+ "UNION ALL "
+			+ "SELECT i.order_id, i.product_id, i.quantity, i.price FROM tb_order_item_archive i "
+			+ "JOIN tb_order_archive a ON a.id = i.order_id WHERE a.status IS NULL OR a.status <> 'CANCELED'"
+			+ ") t";
+
+	private static final String REBUILD_PRODUCTS = "INSERT INTO tb_product_stats (product_id, quantity, revenue, order_count) "
+			+ "SELECT t.product_id, SUM(t.quantity), SUM(t.price * t.quantity), COUNT(*) FROM " + COUNTED_ITEMS
+			+ " GROUP BY t.product_id";
+
+	private static final String REBUILD_BRANDS = "INSERT INTO tb_brand_stats (brand, quantity, revenue, order_count) "
+			+ "SELECT p.brand, SUM(t.quantity), SUM(t.price * t.quantity), COUNT(DISTINCT t.order_id) FROM " + COUNTED_ITEMS
+			+ " JOIN tb_product p ON p.id = t.product_id WHERE p.brand IS NOT NULL";
+
+	@Autowired
+	private ProductStatsRepository productStatsRepository;
+
+	@Autowired
+	private BrandStatsRepository brandStatsRepository;
+
+	@Autowired
+	private ReportUpsertRepository upsertRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/*
+	 * Runs inside the caller's transaction, like DailyRevenueService.apply.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void apply(ProductStatsDeltas deltas) {
+		List<Object[]> products = deltas.productRows();
+		if (!products.isEmpty()) {
+			upsertRepository.upsertProductStats(products);
+		}
+		List<Object[]> brands = deltas.brandRows();
+		if (!brands.isEmpty()) {
+			upsertRepository.upsertBrandStats(brands);
+		}
+	}
+
+	/*
+	 * A product moving to another brand takes its sales along. Order counts do
+	 * not add up across products, so both brands are recomputed from the
+	 * orders; the new brand must already be flushed.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void brandChanged(String previous, String current) {
+		for (String brand : new String[] { previous, current }) {
+			if (brand != null) {
+				jdbcTemplate.update("DELETE FROM tb_brand_stats WHERE brand = ?", brand);
+				jdbcTemplate.update(REBUILD_BRANDS + " AND p.brand = ? GROUP BY p.brand", brand);
+			}
+		}
+	}
+
+	/*
+	 * Counters left at zero by cancelled or edited orders would keep the
+	 * product from being deleted.
+	 */
+	public void productDeleted(Long productId) {
+		jdbcTemplate.update("DELETE FROM tb_product_stats WHERE product_id = ? AND quantity = 0 AND order_count = 0", productId);
+	}
+
+	@Transactional
+	public int rebuild() {
+		upsertRepository.lockForRebuild("tb_product_stats");
+		upsertRepository.lockForRebuild("tb_brand_stats");
+		jdbcTemplate.update("DELETE FROM tb_product_stats");
+		jdbcTemplate.update("DELETE FROM tb_brand_stats");
+		return jdbcTemplate.update(REBUILD_PRODUCTS) + jdbcTemplate.update(REBUILD_BRANDS + " GROUP BY p.brand");
+	}
+
+	/*
+	 * Top-N straight off the (counter, key) indexes: the database walks the
+	 * index backwards and stops after limit rows.
+	 */
+	@Transactional(readOnly = true)
+	public List<ProductStatsDTO> findTopProducts(String by, Integer limit) {
+		return productStatsRepository.findTop(top(by, limit, "id")).stream().map(ProductStatsDTO::new).toList();
+	}
+
+	@Transactional(readOnly = true)
+	public List<BrandStatsDTO> findTopBrands(String by, Integer limit) {
+		return brandStatsRepository.findTop(top(by, limit, "brand")).stream().map(BrandStatsDTO::new).toList();
+	}
+
+	private PageRequest top(String by, Integer limit, String key) {
+		if (!"quantity".equals(by) && !"revenue".equals(by)) {
+			throw new IllegalArgumentException("by must be quantity or revenue");
+		}
+		if (limit != null && limit < 1) {
+			throw new IllegalArgumentException("limit must be positive");
+		}
+		int size = limit == null ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+		return PageRequest.of(0, size, Sort.by(Direction.DESC, by, key));
+	}
+
+}
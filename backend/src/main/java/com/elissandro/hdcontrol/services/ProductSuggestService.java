@@ -0,0 +1,268 @@
+package com.elissandro.hdcontrol.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.elissandro.hdcontrol.dtos.ProductSuggestionDTO;
+
+/*
+ * Autocomplete over product names and brands, answered from memory.
+ *
+ * Every word start of the normalized "name brand" text is an entry of a sorted
+ * array, so a prefix is a binary search followed by a walk over the matching
+ * run. The array is immutable and swapped whole: readers never lock, and a
+ * product write replaces only that product's entries in one linear merge.
+ */
+@Service
+public class ProductSuggestService {
+
+	private static final int DEFAULT_LIMIT = 10;
+	private static final int MAX_LIMIT = 50;
+	private static final char SEPARATOR = '\u0001';
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private volatile Snapshot snapshot;
+
+	// Guarded by this
+	private final Map<Long, Integer> slotById = new HashMap<>();
+
+	public List<ProductSuggestionDTO> suggest(String prefix, Integer limit) {
+		if (limit != null && limit < 1) {
+			throw new IllegalArgumentException("limit must be positive");
+		}
+		int size = limit == null ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+		String key = TextNormalizer.normalize(prefix).stripLeading();
+		if (key.isEmpty()) {
+			return List.of();
+		}
+		Snapshot current = snapshot();
+
+		List<ProductSuggestionDTO> result = new ArrayList<>(size);
+		Set<Integer> seen = new HashSet<>();
+		for (int i = current.lowerBound(key); i < current.entries.length && result.size() < size; i++) {
+			int slot = slot(current.entries[i]);
+			if (!current.texts[slot].startsWith(key, offset(current.entries[i]))) {
+				break;
+			}
+			if (seen.add(slot)) {
+				result.add(current.products[slot]);
+			}
+		}
+		return result;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void load() {
+		slotById.clear();
+		List<ProductSuggestionDTO> products = new ArrayList<>();
+		jdbcTemplate.query("SELECT id, name, brand, price FROM tb_product", rs -> {
+			slotById.put(rs.getLong(1), products.size());
+			products.add(new ProductSuggestionDTO(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getObject(4, Double.class)));
+		});
+		snapshot = Snapshot.of(products.toArray(ProductSuggestionDTO[]::new));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onProductChange(ProductChangeEvent event) {
+		if (snapshot == null) {
+			return;
+		}
+		if (event.getProductId() == null) {
+			load();
+			return;
+		}
+		List<ProductSuggestionDTO> rows = jdbcTemplate.query("SELECT id, name, brand, price FROM tb_product WHERE id = ?",
+				(rs, i) -> new ProductSuggestionDTO(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getObject(4, Double.class)),
+				event.getProductId());
+		Integer removed = slotById.remove(event.getProductId());
+		ProductSuggestionDTO added = rows.isEmpty() ? null : rows.get(0);
+		if (added != null) {
+			slotById.put(added.getId(), snapshot.products.length);
+		}
+		snapshot = snapshot.patch(removed, added);
+		if (snapshot.removed > snapshot.products.length / 2) {
+			load();
+		}
+	}
+
+	private Snapshot snapshot() {
+		Snapshot current = snapshot;
+		if (current == null) {
+			load();
+			current = snapshot;
+		}
+		return current;
+	}
+
+	private static long entry(int slot, int offset) {
+		return ((long) slot << 32) | offset;
+	}
+
+	private static int slot(long entry) {
+		return (int) (entry >>> 32);
+	}
+
+	private static int offset(long entry) {
+		return (int) entry;
+	}
+
+	private static class Snapshot {
+
+		// Indexed by slot; a changed product gets a new slot and its old one is emptied
+		private final ProductSuggestionDTO[] products;
+		private final String[] texts;
+		private final long[] entries;
+		private final int removed;
+
+		private Snapshot(ProductSuggestionDTO[] products, String[] texts, long[] entries, int removed) {
+			this.products = products;
+			this.texts = texts;
+			this.entries = entries;
+			this.removed = removed;
+		}
+
+		static Snapshot of(ProductSuggestionDTO[] products) {
+			String[] texts = new String[products.length];
+			List<Long> entries = new ArrayList<>();
+			for (int slot = 0; slot < products.length; slot++) {
+				texts[slot] = text(products[slot]);
+				addEntries(entries, texts[slot], slot);
+			}
+			return new Snapshot(products, texts, sort(texts, entries), 0);
+		}
+
+		Snapshot patch(Integer removedSlot, ProductSuggestionDTO added) {
+			int length = products.length + (added == null ? 0 : 1);
+			ProductSuggestionDTO[] newProducts = Arrays.copyOf(products, length);
+			String[] newTexts = Arrays.copyOf(texts, length);
+			if (removedSlot != null) {
+				newProducts[removedSlot] = null;
+				newTexts[removedSlot] = null;
+			}
+			List<Long> addedEntries = new ArrayList<>();
+			if (added != null) {
+				newProducts[length - 1] = added;
+				newTexts[length - 1] = text(added);
+				addEntries(addedEntries, newTexts[length - 1], length - 1);
+			}
+			long[] incoming = sort(newTexts, addedEntries);
+
+			long[] merged = new long[entries.length + incoming.length];
+			int size = 0;
+			int j = 0;
+			for (long entry : entries) {
+				if (removedSlot != null && slot(entry) == removedSlot) {
+					continue;
+				}
+				while (j < incoming.length && compare(newTexts, incoming[j], entry) < 0) {
+					merged[size++] = incoming[j++];
+				}
+				merged[size++] = entry;
+			}
+			while (j < incoming.length) {
+				merged[size++] = incoming[j++];
+			}
+			return new Snapshot(newProducts, newTexts, Arrays.copyOf(merged, size),
+					removed + (removedSlot == null ? 0 : 1));
+		}
+
+		/*
+		 * First entry whose text is not before the key.
+		 */
+		int lowerBound(String key) {
+			int low = 0;
+			int high = entries.length;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (compare(texts[slot(entries[mid])], offset(entries[mid]), key, 0) < 0) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+
+		/*
+		 * Sorts on materialized suffixes: String.compareTo is much faster than
+		 * comparing in place, and the copies are dropped right after.
+		 */
+		private static long[] sort(String[] texts, List<Long> entries) {
+			Key[] keys = new Key[entries.size()];
+			for (int i = 0; i < keys.length; i++) {
+				long entry = entries.get(i);
+				keys[i] = new Key(texts[slot(entry)].substring(offset(entry)), entry);
+			}
+			Arrays.sort(keys);
+			long[] sorted = new long[keys.length];
+			for (int i = 0; i < keys.length; i++) {
+				sorted[i] = keys[i].entry;
+			}
+			return sorted;
+		}
+
+		private static int compare(String[] texts, long a, long b) {
+			int result = compare(texts[slot(a)], offset(a), texts[slot(b)], offset(b));
+			return result != 0 ? result : Integer.compare(slot(a), slot(b));
+		}
+
+		private static int compare(String a, int offsetA, String b, int offsetB) {
+			int lengthA = a.length() - offsetA;
+			int lengthB = b.length() - offsetB;
+			for (int i = 0, n = Math.min(lengthA, lengthB); i < n; i++) {
+				char x = a.charAt(offsetA + i);
+				char y = b.charAt(offsetB + i);
+				if (x != y) {
+					return x - y;
+				}
+			}
+			return lengthA - lengthB;
+		}
+
+		private static String text(ProductSuggestionDTO product) {
+			String brand = product.getBrand() == null ? "" : SEPARATOR + TextNormalizer.normalize(product.getBrand());
+			return TextNormalizer.normalize(product.getName()) + brand;
+		}
+
+		private static void addEntries(List<Long> entries, String text, int slot) {
+			for (int i = 0; i < text.length(); i++) {
+				boolean wordStart = Character.isLetterOrDigit(text.charAt(i))
+						&& (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)));
+				if (wordStart) {
+					entries.add(entry(slot, i));
+				}
+			}
+		}
+	}
+
+	private static class Key implements Comparable<Key> {
+
+		private final String suffix;
+		private final long entry;
+
+		Key(String suffix, long entry) {
+			this.suffix = suffix;
+			this.entry = entry;
+		}
+
+		@Override
+		public int compareTo(Key other) {
+			int result = suffix.compareTo(other.suffix);
+			return result != 0 ? result : Integer.compare(slot(entry), slot(other.entry));
+		}
+	}
+}
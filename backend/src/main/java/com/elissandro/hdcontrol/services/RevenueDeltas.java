@@ -0,0 +1,61 @@
+package com.elissandro.hdcontrol.services;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.elissandro.hdcontrol.entities.Order;
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+import com.elissandro.hdcontrol.entities.enums.PaymentStatus;
+
+/*
+ * Collects the rollup changes of one transaction: the state an order leaves is
+ * removed, the state it reaches is added. Changes that cancel out (an edit that
+ * keeps date, status and total) never reach the database. Rows come out in
+ * date and status order, so concurrent writers lock them in the same order.
+ */
+public class RevenueDeltas {
+
+	private final Map<LocalDate, Map<OrderStatus, double[]>> deltas = new TreeMap<>();
+
+	public void add(Order order) {
+		add(order, 1);
+	}
+
+	public void remove(Order order) {
+		add(order, -1);
+	}
+
+	private void add(Order order, int sign) {
+		boolean paid = order.getPayment() != null && order.getPayment().getStatus() == PaymentStatus.PAID;
+		add(order.getDeliveryDate(), order.getStatus(), order.getTotal(), order.getTotalQuantity(), paid, sign);
+	}
+
+	public void add(LocalDate date, OrderStatus status, Double total, Integer quantity, boolean paid, int sign) {
+		if (date == null || status == null) {
+			return;
+		}
+		double revenue = total == null ? 0.0 : total;
+		double[] delta = deltas.computeIfAbsent(date, x -> new EnumMap<>(OrderStatus.class))
+				.computeIfAbsent(status, x -> new double[4]);
+		delta[0] += sign;
+		delta[1] += sign * (quantity == null ? 0 : quantity);
+		delta[2] += sign * revenue;
+		delta[3] += paid ? sign * revenue : 0.0;
+	}
+
+	List<Object[]> rows() {
+		List<Object[]> rows = new ArrayList<>();
+		deltas.forEach((date, statuses) -> statuses.forEach((status, delta) -> {
+			if (delta[0] != 0 || delta[1] != 0 || delta[2] != 0 || delta[3] != 0) {
+				rows.add(new Object[] { Date.valueOf(date), status.name(), (long) delta[0], (long) delta[1], delta[2], delta[3] });
+			}
+		}));
+		return rows;
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.elissandro.hdcontrol.services;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/*
+ * Lower case without accents, so "Conexão" and "CONEXAO" compare equal. Used
+ * by the in-memory product indexes; Postgres does the same with
+ * hd_unaccent(lower(...)).
+ */
+public final class TextNormalizer {
+
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+	private TextNormalizer() {
+	}
+
+	public static String normalize(String text) {
+		String lower = text == null ? "" : text.toLowerCase(Locale.ROOT);
+		for (int i = 0; i < lower.length(); i++) {
+			if (lower.charAt(i) >= 0x80) {
+				return MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+			}
+		}
+		return lower;
+	}
+}
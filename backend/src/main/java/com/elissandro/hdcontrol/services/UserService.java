@@ -43,6 +43,9 @@ public class UserService implements UserDetailsService {
 	
 	@Autowired
 	private AuthService authService;
+
+	@Autowired
+	private ClientBalanceService clientBalanceService;
 	
 
 	@Transactional(readOnly = true)
@@ -107,6 +110,7 @@ public class UserService implements UserDetailsService {
 			throw new EntityNotFoundException("Id not found " + id);
 		} else {
 			try {
+				clientBalanceService.userDeleted(id);
 				repository.deleteById(id);
 			} catch (DataIntegrityViolationException e) {
 				throw new DatabaseException("");
@@ -0,0 +1,19 @@
+-- Order listing indexes and persisted order totals.
+-- Production runs with spring.jpa.hibernate.ddl-auto=none: apply by hand, in file order.
+
+CREATE INDEX IF NOT EXISTS idx_order_delivery_date_id ON tb_order (delivery_date, id);
+CREATE INDEX IF NOT EXISTS idx_order_user_id_id ON tb_order (user_id, id);
+
+ALTER TABLE tb_order ADD COLUMN IF NOT EXISTS total double precision NOT NULL DEFAULT 0;
+ALTER TABLE tb_order ADD COLUMN IF NOT EXISTS total_quantity integer NOT NULL DEFAULT 0;
+
+UPDATE tb_order o
+SET total = t.total, total_quantity = t.total_quantity
+FROM (
+	SELECT order_id, SUM(price * quantity) AS total, SUM(quantity) AS total_quantity
+	FROM tb_order_item
+	GROUP BY order_id
+) t
+WHERE t.order_id = o.id;
+
+CREATE INDEX IF NOT EXISTS idx_order_total ON tb_order (total);
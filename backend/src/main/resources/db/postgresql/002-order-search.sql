@@ -0,0 +1,10 @@
+-- Full-text search over order service descriptions and observations.
+-- The generated column is maintained by Postgres on every write; apply by hand after 001.
+
+ALTER TABLE tb_order ADD COLUMN IF NOT EXISTS search_vector tsvector
+	GENERATED ALWAYS AS (
+		setweight(to_tsvector('portuguese', coalesce(service_description, '')), 'A') ||
+		setweight(to_tsvector('portuguese', coalesce(observation, '')), 'B')
+	) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_order_search_vector ON tb_order USING GIN (search_vector);
@@ -0,0 +1,5 @@
+-- Composite indexes for the server-side order list filters (status set, delivery date range, client).
+-- Apply by hand after 002.
+
+CREATE INDEX IF NOT EXISTS idx_order_status_delivery_date ON tb_order (status, delivery_date);
+CREATE INDEX IF NOT EXISTS idx_order_user_id_delivery_date ON tb_order (user_id, delivery_date);
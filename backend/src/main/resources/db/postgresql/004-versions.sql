@@ -0,0 +1,5 @@
+-- Optimistic locking versions behind the ETag / If-Match support on orders and products.
+-- Apply by hand after 003.
+
+ALTER TABLE tb_order ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE tb_product ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
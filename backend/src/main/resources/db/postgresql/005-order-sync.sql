@@ -0,0 +1,15 @@
+-- updated_at stamps and delete tombstones behind GET /orders/changes.
+-- Apply by hand after 004.
+
+ALTER TABLE tb_order ADD COLUMN IF NOT EXISTS updated_at timestamp(6) with time zone NOT NULL DEFAULT now();
+ALTER TABLE tb_payment ADD COLUMN IF NOT EXISTS updated_at timestamp(6) with time zone NOT NULL DEFAULT now();
+
+CREATE INDEX IF NOT EXISTS idx_order_updated_at_id ON tb_order (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_payment_updated_at ON tb_payment (updated_at);
+
+CREATE TABLE IF NOT EXISTS tb_order_tombstone (
+	order_id bigint PRIMARY KEY,
+	user_id bigint NOT NULL,
+	deleted_at timestamp(6) with time zone NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_order_tombstone_deleted_at ON tb_order_tombstone (deleted_at);
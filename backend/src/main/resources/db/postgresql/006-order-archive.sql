@@ -0,0 +1,27 @@
+-- Archive tables for closed orders moved out of tb_order by OrderArchiveService.
+-- Apply by hand after 005.
+
+CREATE TABLE IF NOT EXISTS tb_order_archive (
+	id bigint PRIMARY KEY,
+	user_id bigint REFERENCES tb_user (id),
+	service_description varchar(255),
+	observation varchar(255),
+	status varchar(255),
+	delivery_date date,
+	total double precision NOT NULL,
+	total_quantity integer NOT NULL,
+	payment_status smallint,
+	payment_moment timestamp(6) with time zone,
+	updated_at timestamp(6) with time zone NOT NULL,
+	archived_at timestamp(6) with time zone NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_order_archive_delivery_date_id ON tb_order_archive (delivery_date, id);
+CREATE INDEX IF NOT EXISTS idx_order_archive_user_id_delivery_date ON tb_order_archive (user_id, delivery_date);
+
+CREATE TABLE IF NOT EXISTS tb_order_item_archive (
+	order_id bigint NOT NULL REFERENCES tb_order_archive (id),
+	product_id bigint NOT NULL REFERENCES tb_product (id),
+	quantity integer,
+	price double precision,
+	PRIMARY KEY (order_id, product_id)
+);
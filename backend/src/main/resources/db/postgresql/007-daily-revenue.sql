@@ -0,0 +1,25 @@
+-- Daily revenue rollup behind GET /reports/revenue, backfilled from hot and archived orders.
+-- Apply by hand after 006. POST /reports/revenue/rebuild recomputes it at any time.
+
+CREATE TABLE IF NOT EXISTS tb_daily_revenue (
+	revenue_date date NOT NULL,
+	status varchar(255) NOT NULL,
+	order_count bigint NOT NULL,
+	quantity bigint NOT NULL,
+	revenue double precision NOT NULL,
+	paid_revenue double precision NOT NULL,
+	PRIMARY KEY (revenue_date, status)
+);
+
+INSERT INTO tb_daily_revenue (revenue_date, status, order_count, quantity, revenue, paid_revenue)
+SELECT revenue_date, status, COUNT(*), SUM(total_quantity), SUM(total),
+	SUM(CASE WHEN payment_status = 1 THEN total ELSE 0 END)
+FROM (
+	SELECT o.delivery_date AS revenue_date, o.status, o.total, o.total_quantity, p.status AS payment_status
+	FROM tb_order o LEFT JOIN tb_payment p ON p.order_id = o.id
+	UNION ALL
+	SELECT a.delivery_date, a.status, a.total, a.total_quantity, a.payment_status FROM tb_order_archive a
+) t
+WHERE revenue_date IS NOT NULL AND status IS NOT NULL
+GROUP BY revenue_date, status
+ON CONFLICT (revenue_date, status) DO NOTHING;
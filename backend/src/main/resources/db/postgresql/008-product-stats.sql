@@ -0,0 +1,49 @@
+-- Product and brand sales counters behind GET /reports/top-products and /reports/top-brands,
+-- backfilled from hot and archived orders (cancelled ones excluded).
+-- Apply by hand after 007. POST /reports/top-products/rebuild recomputes both at any time.
+
+CREATE TABLE IF NOT EXISTS tb_product_stats (
+	product_id bigint NOT NULL PRIMARY KEY REFERENCES tb_product (id),
+	quantity bigint NOT NULL,
+	revenue double precision NOT NULL,
+	order_count bigint NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_stats_quantity ON tb_product_stats (quantity, product_id);
+CREATE INDEX IF NOT EXISTS idx_product_stats_revenue ON tb_product_stats (revenue, product_id);
+
+CREATE TABLE IF NOT EXISTS tb_brand_stats (
+	brand varchar(255) NOT NULL PRIMARY KEY,
+	quantity bigint NOT NULL,
+	revenue double precision NOT NULL,
+	order_count bigint NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_brand_stats_quantity ON tb_brand_stats (quantity, brand);
+CREATE INDEX IF NOT EXISTS idx_brand_stats_revenue ON tb_brand_stats (revenue, brand);
+
+INSERT INTO tb_product_stats (product_id, quantity, revenue, order_count)
+SELECT t.product_id, SUM(t.quantity), SUM(t.price * t.quantity), COUNT(*)
+FROM (
+	SELECT i.order_id, i.product_id, i.quantity, i.price FROM tb_order_item i
+	JOIN tb_order o ON o.id = i.order_id WHERE o.status IS NULL OR o.status <> 'CANCELED'
+	UNION ALL
+	SELECT i.order_id, i.product_id, i.quantity, i.price FROM tb_order_item_archive i
+	JOIN tb_order_archive a ON a.id = i.order_id WHERE a.status IS NULL OR a.status <> 'CANCELED'
+) t
+GROUP BY t.product_id
+ON CONFLICT (product_id) DO NOTHING;
+
+INSERT INTO tb_brand_stats (brand, quantity, revenue, order_count)
+SELECT p.brand, SUM(t.quantity), SUM(t.price * t.quantity), COUNT(DISTINCT t.order_id)
+FROM (
+	SELECT i.order_id, i.product_id, i.quantity, i.price FROM tb_order_item i
+	JOIN tb_order o ON o.id = i.order_id WHERE o.status IS NULL OR o.status <> 'CANCELED'
+	UNION ALL
+	SELECT i.order_id, i.product_id, i.quantity, i.price FROM tb_order_item_archive i
+	JOIN tb_order_archive a ON a.id = i.order_id WHERE a.status IS NULL OR a.status <> 'CANCELED'
+) t
+JOIN tb_product p ON p.id = t.product_id
+WHERE p.brand IS NOT NULL
+GROUP BY p.brand
+ON CONFLICT (brand) DO NOTHING;
@@ -0,0 +1,21 @@
+-- Per-client balance behind GET /users/{id}/statement, backfilled from hot and archived orders.
+-- Apply by hand after 008. POST /reports/client-balances/rebuild recomputes it at any time.
+
+CREATE TABLE IF NOT EXISTS tb_client_balance (
+	user_id bigint NOT NULL PRIMARY KEY REFERENCES tb_user (id),
+	order_count bigint NOT NULL,
+	total double precision NOT NULL,
+	paid_total double precision NOT NULL
+);
+
+INSERT INTO tb_client_balance (user_id, order_count, total, paid_total)
+SELECT user_id, COUNT(*), SUM(total), SUM(CASE WHEN payment_status = 1 THEN total ELSE 0 END)
+FROM (
+	SELECT o.user_id, o.status, o.total, p.status AS payment_status
+	FROM tb_order o LEFT JOIN tb_payment p ON p.order_id = o.id
+	UNION ALL
+	SELECT a.user_id, a.status, a.total, a.payment_status FROM tb_order_archive a
+) t
+WHERE user_id IS NOT NULL AND (status IS NULL OR status <> 'CANCELED')
+GROUP BY user_id
+ON CONFLICT (user_id) DO NOTHING;
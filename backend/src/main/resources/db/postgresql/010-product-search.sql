@@ -0,0 +1,13 @@
+-- Case- and accent-insensitive trigram search over product names (GET /products?name=).
+-- Apply by hand after 009; needs the pg_trgm and unaccent contrib extensions.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() is only STABLE, which index expressions do not accept. Pinning the
+-- dictionary makes the wrapper safe to declare IMMUTABLE.
+CREATE OR REPLACE FUNCTION hd_unaccent(text) RETURNS text
+	LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+	AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $$;
+
+CREATE INDEX IF NOT EXISTS idx_product_name_trgm ON tb_product USING GIN (hd_unaccent(lower(name)) gin_trgm_ops);
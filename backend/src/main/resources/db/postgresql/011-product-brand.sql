@@ -0,0 +1,4 @@
+-- Brand filter and per-brand counts behind GET /products/facets.
+-- Apply by hand after 010.
+
+CREATE INDEX IF NOT EXISTS idx_product_brand_id ON tb_product (brand, id);
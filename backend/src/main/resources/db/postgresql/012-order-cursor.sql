@@ -0,0 +1,6 @@
+-- Seek index for the delivery date cursor of one client: the dated range is read
+-- on (user_id, delivery_date, id) and the undated tail on (user_id, id).
+-- Apply by hand after 011.
+
+CREATE INDEX IF NOT EXISTS idx_order_user_id_delivery_date_id ON tb_order (user_id, delivery_date, id);
+DROP INDEX IF EXISTS idx_order_user_id_delivery_date;
@@ -0,0 +1,5 @@
+-- Client version folded into the order ETag: orders embed their client, so a
+-- client edit has to change the tag of every order of that client.
+-- Apply by hand after 012.
+
+ALTER TABLE tb_user ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
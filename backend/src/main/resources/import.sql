@@ -328,3 +328,16 @@ INSERT INTO TB_PAYMENT (STATUS, MOMENT, ORDER_ID) VALUES (0, '2025-10-06', 47);
 
 
 
+
+
+UPDATE TB_ORDER o SET TOTAL = (SELECT COALESCE(SUM(i.PRICE * i.QUANTITY), 0) FROM TB_ORDER_ITEM i WHERE i.ORDER_ID = o.ID), TOTAL_QUANTITY = (SELECT COALESCE(SUM(i.QUANTITY), 0) FROM TB_ORDER_ITEM i WHERE i.ORDER_ID = o.ID);
+INSERT INTO TB_DAILY_REVENUE (REVENUE_DATE, STATUS, ORDER_COUNT, QUANTITY, REVENUE, PAID_REVENUE) SELECT o.DELIVERY_DATE, o.STATUS, COUNT(*), SUM(o.TOTAL_QUANTITY), SUM(o.TOTAL), SUM(CASE WHEN p.STATUS = 1 THEN o.TOTAL ELSE 0 END) FROM TB_ORDER o LEFT JOIN TB_PAYMENT p ON p.ORDER_ID = o.ID WHERE o.DELIVERY_DATE IS NOT NULL AND o.STATUS IS NOT NULL GROUP BY o.DELIVERY_DATE, o.STATUS;
+INSERT INTO TB_PRODUCT_STATS (PRODUCT_ID, QUANTITY, REVENUE, ORDER_COUNT) SELECT i.PRODUCT_ID, SUM(i.QUANTITY), SUM(i.PRICE * i.QUANTITY), COUNT(*) FROM TB_ORDER_ITEM i JOIN TB_ORDER o ON o.ID = i.ORDER_ID WHERE o.STATUS IS NULL OR o.STATUS <> 'CANCELED' GROUP BY i.PRODUCT_ID;
+INSERT INTO TB_BRAND_STATS (BRAND, QUANTITY, REVENUE, ORDER_COUNT) SELECT p.BRAND, SUM(i.QUANTITY), SUM(i.PRICE * i.QUANTITY), COUNT(DISTINCT i.ORDER_ID) FROM TB_ORDER_ITEM i JOIN TB_ORDER o ON o.ID = i.ORDER_ID JOIN TB_PRODUCT p ON p.ID = i.PRODUCT_ID WHERE (o.STATUS IS NULL OR o.STATUS <> 'CANCELED') AND p.BRAND IS NOT NULL GROUP BY p.BRAND;
+INSERT INTO TB_CLIENT_BALANCE (USER_ID, ORDER_COUNT, TOTAL, PAID_TOTAL) SELECT o.USER_ID, COUNT(*), SUM(o.TOTAL), SUM(CASE WHEN p.STATUS = 1 THEN o.TOTAL ELSE 0 END) FROM TB_ORDER o LEFT JOIN TB_PAYMENT p ON p.ORDER_ID = o.ID WHERE o.USER_ID IS NOT NULL AND (o.STATUS IS NULL OR o.STATUS <> 'CANCELED') GROUP BY o.USER_ID;
+
+CREATE ALIAS IF NOT EXISTS FT_INIT FOR 'org.h2.fulltext.FullText.init';
+CALL FT_INIT();
+CALL FT_DROP_ALL();
+CALL FT_INIT();
+CALL FT_CREATE_INDEX('PUBLIC', 'TB_ORDER', 'SERVICE_DESCRIPTION,OBSERVATION');
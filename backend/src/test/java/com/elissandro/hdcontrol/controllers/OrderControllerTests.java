@@ -0,0 +1,229 @@
+package com.elissandro.hdcontrol.controllers;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.elissandro.hdcontrol.entities.Order;
+import com.elissandro.hdcontrol.entities.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:hdcontrol-tests", "orders.archive.enabled=false" })
+@AutoConfigureMockMvc
+class OrderControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory emf;
+
+	@Autowired
+	private EntityManager em;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = emf.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+	}
+
+	@Test
+	void summaryShouldRejectMissingUserIdForClient() throws Exception {
+		mockMvc.perform(get("/orders/summary").with(as("ROLE_CLIENT")))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void summaryShouldAllowMissingUserIdForAdmin() throws Exception {
+		long orders = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_order", Long.class);
+		mockMvc.perform(get("/orders/summary").with(as("ROLE_ADMIN")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalCount").value(orders));
+	}
+
+	@Test
+	void summaryShouldRunTwoQueriesForOneUser() throws Exception {
+		long orders = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_order WHERE user_id = 2", Long.class);
+		statistics.clear();
+		mockMvc.perform(get("/orders/summary").param("userId", "2").with(as("ROLE_CLIENT")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalCount").value(orders));
+		assertEquals(2, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void cursorShouldRejectMissingUserIdForClient() throws Exception {
+		mockMvc.perform(get("/orders").param("cursor", "").with(as("ROLE_CLIENT")))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void cursorShouldOnlyReturnOrdersOfRequestedUser() throws Exception {
+		mockMvc.perform(get("/orders").param("cursor", "").param("userId", "2").param("size", "100").with(as("ROLE_CLIENT")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content", not(empty())))
+				.andExpect(jsonPath("$.content[*].user.id", everyItem(is(2))));
+	}
+
+	@Test
+	void searchShouldRejectMissingUserIdForClient() throws Exception {
+		mockMvc.perform(get("/orders/search").param("q", "troca").with(as("ROLE_CLIENT")))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void searchShouldOnlyReturnOrdersOfRequestedUser() throws Exception {
+		mockMvc.perform(get("/orders/search").param("q", "troca").param("userId", "2").with(as("ROLE_CLIENT")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content", not(empty())))
+				.andExpect(jsonPath("$.content[*].user.id", everyItem(is(2))));
+	}
+
+	@Test
+	@Transactional
+	void orderShouldStillBeFoundAfterItsLastItemIsRemoved() throws Exception {
+		long orderId = jdbcTemplate.queryForObject("SELECT MIN(order_id) FROM tb_order_item", Long.class);
+		List<Long> products = jdbcTemplate.queryForList("SELECT product_id FROM tb_order_item WHERE order_id = ?", Long.class, orderId);
+		for (Long productId : products) {
+			mockMvc.perform(patch("/orders/{id}/items", orderId).with(as("ROLE_USER"))
+					.contentType(MediaType.APPLICATION_JSON)
+					.content("{\"product\": {\"id\": " + productId + "}, \"quantity\": 0}"))
+					.andExpect(status().isOk());
+		}
+		em.flush();
+		em.clear();
+
+		mockMvc.perform(get("/orders/{id}", orderId).with(as("ROLE_USER")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items", empty()));
+	}
+
+	@Test
+	@Transactional
+	void orderETagShouldChangeWhenItsClientChanges() throws Exception {
+		long orderId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM tb_order", Long.class);
+		long userId = jdbcTemplate.queryForObject("SELECT user_id FROM tb_order WHERE id = ?", Long.class, orderId);
+		String eTag = mockMvc.perform(get("/orders/{id}", orderId).with(as("ROLE_USER")))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		em.find(User.class, userId).setFirstName("Renamed");
+		em.flush();
+		em.clear();
+
+		String changed = mockMvc.perform(get("/orders/{id}", orderId).header(HttpHeaders.IF_NONE_MATCH, eTag).with(as("ROLE_USER")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.user.firstName").value("Renamed"))
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(eTag, changed);
+	}
+
+	@Test
+	@Transactional
+	void insertShouldWriteTheOrderHeaderOnce() throws Exception {
+		List<Long> products = jdbcTemplate.queryForList("SELECT id FROM tb_product ORDER BY id FETCH FIRST 2 ROWS ONLY", Long.class);
+		String body = "{\"serviceDescription\": \"FORMATACAO\", \"status\": \"PENDING\", \"deliveryDate\": \"2025-06-01\", \"user\": {\"id\": 2}, \"items\": ["
+				+ "{\"product\": {\"id\": " + products.get(0) + "}, \"quantity\": 2, \"price\": 10.0},"
+				+ "{\"product\": {\"id\": " + products.get(1) + "}, \"quantity\": 1, \"price\": 5.0}]}";
+		statistics.clear();
+
+		mockMvc.perform(post("/orders").with(as("ROLE_USER"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.total").value(25.0))
+				.andExpect(jsonPath("$.items.length()").value(2));
+		em.flush();
+
+		assertEquals(1, statistics.getEntityStatistics(Order.class.getName()).getInsertCount());
+		assertEquals(0, statistics.getEntityStatistics(Order.class.getName()).getUpdateCount());
+	}
+
+	@Test
+	@Transactional
+	void putShouldApplyTheSameStatusTransitionsAsPatch() throws Exception {
+		long orderId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM tb_order", Long.class);
+		jdbcTemplate.update("UPDATE tb_order SET status = 'FINALIZED' WHERE id = ?", orderId);
+		ObjectNode order = (ObjectNode) objectMapper.readTree(mockMvc.perform(get("/orders/{id}", orderId).with(as("ROLE_USER")))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+
+		order.put("status", "PENDING");
+		mockMvc.perform(put("/orders/{id}", orderId).with(as("ROLE_USER"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(order.toString()))
+				.andExpect(status().isBadRequest());
+
+		order.put("status", "FINALIZED");
+		mockMvc.perform(put("/orders/{id}", orderId).with(as("ROLE_USER"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(order.toString()))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	@Transactional
+	void removingAnItemTheOrderDoesNotHaveShouldWriteNothing() throws Exception {
+		long orderId = jdbcTemplate.queryForObject("SELECT MIN(order_id) FROM tb_order_item", Long.class);
+		long productId = jdbcTemplate.queryForObject(
+				"SELECT MIN(id) FROM tb_product WHERE id NOT IN (SELECT product_id FROM tb_order_item WHERE order_id = ?)", Long.class, orderId);
+		Map<String, Object> before = jdbcTemplate.queryForMap("SELECT version, updated_at FROM tb_order WHERE id = ?", orderId);
+		statistics.clear();
+
+		mockMvc.perform(patch("/orders/{id}/items", orderId).with(as("ROLE_USER"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"product\": {\"id\": " + productId + "}, \"quantity\": 0}"))
+				.andExpect(status().isOk());
+		em.flush();
+
+		assertEquals(0, statistics.getEntityUpdateCount());
+		assertEquals(before, jdbcTemplate.queryForMap("SELECT version, updated_at FROM tb_order WHERE id = ?", orderId));
+	}
+
+	private static JwtRequestPostProcessor as(String role) {
+		return jwt().authorities(new SimpleGrantedAuthority(role));
+	}
+}
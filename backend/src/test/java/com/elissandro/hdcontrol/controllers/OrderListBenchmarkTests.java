@@ -0,0 +1,105 @@
+package com.elissandro.hdcontrol.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.sun.management.ThreadMXBean;
+
+/*
+ * Allocation and latency per page of the full OrderDTO list against the
+ * OrderListDTO projection with persisted totals. Only runs with
+ * mvn test -Pbenchmark; the numbers are printed, and the only check is that
+ * the projection allocates less. H2 runs on the request thread, so its work
+ * is counted too: the pages stay near the start, where the offset scan,
+ * which joins user and payment on every skipped row of the projection, does
+ * not drown out the mapping being compared.
+ */
+@Tag("benchmark")
+@TestInstance(Lifecycle.PER_CLASS)
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:hdcontrol-benchmark", "orders.archive.enabled=false",
+		"spring.jpa.show-sql=false" })
+@AutoConfigureMockMvc
+class OrderListBenchmarkTests {
+
+	private static final int ORDERS = 20_000;
+	private static final int WARMUP = 50;
+	private static final int RUNS = 200;
+	private static final int PAGES = 5;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	@BeforeAll
+	void seed() {
+		jdbcTemplate.execute("CALL FT_DROP_INDEX('PUBLIC', 'TB_ORDER')");
+		jdbcTemplate.update("INSERT INTO tb_order (user_id, service_description, observation, status, delivery_date, "
+				+ "total, total_quantity, version, updated_at) "
+				+ "SELECT MOD(x, 4) + 1, 'BENCHMARK ' || x, 'TROCA DE ID', 'READY', DATEADD('DAY', MOD(x, 365), DATE '2024-01-01'), "
+				+ "60.0, 3, 0, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, " + ORDERS + ")");
+		jdbcTemplate.update("INSERT INTO tb_order_item (order_id, product_id, quantity, price) "
+				+ "SELECT id, p.product_id, 1, 20.0 FROM tb_order, (VALUES 1, 2, 3) p(product_id) "
+				+ "WHERE service_description LIKE 'BENCHMARK %'");
+	}
+
+	@Test
+	void listProjectionShouldAllocateLessThanOrderDtoPages() throws Exception {
+		for (int size : new int[] { 20, 200 }) {
+			Result full = measure("/orders/allorders", size);
+			Result list = measure("/orders/allorders/list", size);
+			System.out.printf("size=%d: %s (OrderDTO) vs %s (list)%n", size, full, list);
+			assertTrue(list.bytes < full.bytes);
+		}
+	}
+
+	private Result measure(String url, int size) throws Exception {
+		for (int i = 0; i < WARMUP; i++) {
+			request(url, size, i);
+		}
+		long bytes = 0;
+		long nanos = 0;
+		for (int i = 0; i < RUNS; i++) {
+			long allocated = threads.getCurrentThreadAllocatedBytes();
+			long start = System.nanoTime();
+			request(url, size, i);
+			nanos += System.nanoTime() - start;
+			bytes += threads.getCurrentThreadAllocatedBytes() - allocated;
+		}
+		return new Result(bytes / RUNS, nanos / RUNS);
+	}
+
+	private void request(String url, int size, int i) throws Exception {
+		mockMvc.perform(get(url).param("page", String.valueOf(i % PAGES)).param("size", String.valueOf(size))
+				.param("sort", "id").with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+				.andExpect(status().isOk());
+	}
+
+	private record Result(long bytes, long nanos) {
+
+		@Override
+		public String toString() {
+			return String.format("%.1f MB alloc / %.1f ms", bytes / 1_048_576.0, nanos / 1_000_000.0);
+		}
+	}
+
+}
@@ -0,0 +1,188 @@
+package com.elissandro.hdcontrol.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.elissandro.hdcontrol.config.CacheConfig;
+import com.elissandro.hdcontrol.dtos.ProductDTO;
+import com.elissandro.hdcontrol.services.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:hdcontrol-tests", "orders.archive.enabled=false" })
+@AutoConfigureMockMvc
+class ProductControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ProductService service;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EntityManagerFactory emf;
+
+	@Test
+	void catalogETagShouldChangeAfterProductWrite() throws Exception {
+		String eTag = mockMvc.perform(get("/products").with(as("ROLE_USER")))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/products").header(HttpHeaders.IF_NONE_MATCH, eTag).with(as("ROLE_USER")))
+				.andExpect(status().isNotModified());
+
+		long id = firstProductId();
+		updateDescription(id, "Catalog ETag " + System.nanoTime());
+
+		String changed = mockMvc.perform(get("/products").header(HttpHeaders.IF_NONE_MATCH, eTag).with(as("ROLE_USER")))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(eTag, changed);
+	}
+
+	/*
+	 * A reader that took the version before a write and put its page after the
+	 * eviction leaves it under the old version, where no later request looks.
+	 */
+	@Test
+	void pageCachedUnderOldVersionShouldNotBeServedAfterWrite() throws Exception {
+		long id = firstProductId();
+		Pageable pageable = PageRequest.of(0, 5, Sort.by("id"));
+		long version = service.catalogVersion();
+		List<Object> key = Arrays.asList(version, "", null, pageable);
+		Cache pages = cacheManager.getCache(CacheConfig.PRODUCT_PAGES);
+		ProductDTO stale = service.findAllPaged(version, "", null, pageable).getContent().get(0);
+		assertNotNull(pages.get(key));
+
+		String description = "Fresh description " + System.nanoTime();
+		updateDescription(id, description);
+		pages.put(key, new PageImpl<>(List.of(stale), pageable, 1));
+
+		mockMvc.perform(get("/products").param("page", "0").param("size", "5").param("sort", "id").with(as("ROLE_USER")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].id").value(id))
+				.andExpect(jsonPath("$.content[0].description").value(description));
+		mockMvc.perform(get("/products/{id}", id).with(as("ROLE_USER")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.description").value(description));
+	}
+
+	@Test
+	void productNotModifiedShouldNotLoadTheProduct() throws Exception {
+		long id = firstProductId();
+		String eTag = mockMvc.perform(get("/products/{id}", id).with(as("ROLE_USER")))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		cacheManager.getCache(CacheConfig.PRODUCTS).clear();
+		Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+
+		mockMvc.perform(get("/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag).with(as("ROLE_USER")))
+				.andExpect(status().isNotModified());
+
+		assertEquals(0, statistics.getEntityLoadCount());
+		mockMvc.perform(get("/products/{id}", Long.MAX_VALUE).with(as("ROLE_USER")))
+				.andExpect(status().isNotFound());
+	}
+
+	/*
+	 * By-id entries are keyed by id alone: a write drops its own product and
+	 * keeps the others, and a stale row put back after the write is replaced
+	 * because its version no longer matches the row.
+	 */
+	@Test
+	void productWriteShouldEvictOnlyItsOwnEntry() throws Exception {
+		long id = firstProductId();
+		long other = jdbcTemplate.queryForObject("SELECT MIN(id) FROM tb_product WHERE id > ?", Long.class, id);
+		Cache products = cacheManager.getCache(CacheConfig.PRODUCTS);
+		ProductDTO stale = service.findDtoById(id, service.findVersion(id));
+		service.findDtoById(other, service.findVersion(other));
+
+		String description = "Own entry " + System.nanoTime();
+		updateDescription(id, description);
+
+		assertNull(products.get(id));
+		assertNotNull(products.get(other));
+		products.put(id, stale);
+		mockMvc.perform(get("/products/{id}", id).with(as("ROLE_USER")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.description").value(description));
+		assertEquals(description, products.get(id, ProductDTO.class).getDescription());
+	}
+
+	@Test
+	void importShouldInvalidateCatalogAfterEachChunk() throws Exception {
+		String suffix = Long.toString(System.nanoTime(), 36);
+		List<ProductDTO> dtos = List.of(
+				new ProductDTO(null, "Chunk A " + suffix, "Chunk", "IMPORT", 1.0),
+				new ProductDTO(null, "Chunk B " + suffix, "Chunk", "IMPORT", 1.0),
+				new ProductDTO(null, "Chunk C " + suffix, "Chunk", "IMPORT", 1.0));
+		long version = service.catalogVersion();
+
+		mockMvc.perform(post("/products/bulk").param("chunkSize", "2").with(as("ROLE_ADMIN"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(dtos)))
+				.andExpect(status().isOk());
+
+		assertEquals(version + 2, service.catalogVersion());
+	}
+
+	private long firstProductId() {
+		return jdbcTemplate.queryForObject("SELECT MIN(id) FROM tb_product", Long.class);
+	}
+
+	private void updateDescription(long id, String description) throws Exception {
+		Map<String, Object> row = jdbcTemplate.queryForMap("SELECT name, brand, price FROM tb_product WHERE id = ?", id);
+		ProductDTO dto = new ProductDTO(id, (String) row.get("NAME"), description, (String) row.get("BRAND"),
+				((Number) row.get("PRICE")).doubleValue());
+		mockMvc.perform(put("/products/{id}", id).with(as("ROLE_ADMIN"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(dto)))
+				.andExpect(status().isOk());
+	}
+
+	private static JwtRequestPostProcessor as(String role) {
+		return jwt().authorities(new SimpleGrantedAuthority(role));
+	}
+}
@@ -0,0 +1,69 @@
+package com.elissandro.hdcontrol.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.elissandro.hdcontrol.dtos.OrderFilterDTO;
+
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:hdcontrol-tests", "orders.archive.enabled=false" })
+@Transactional
+class OrderRepositoryTests {
+
+	@Autowired
+	private OrderRepository repository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("UPDATE tb_order SET delivery_date = NULL WHERE MOD(id, 4) = 0");
+	}
+
+	@Test
+	void datedRangeShouldSeekPastKeyAndLeaveUndatedOrdersOut() {
+		List<Long> expected = jdbcTemplate.queryForList(
+				"SELECT id FROM tb_order WHERE delivery_date IS NOT NULL ORDER BY delivery_date, id", Long.class);
+		List<Object[]> rows = repository.searchOrderKeysAfter(new OrderFilterDTO(), "deliveryDate", Direction.ASC, false, null, null, 1000);
+		assertEquals(expected, ids(rows));
+
+		int middle = rows.size() / 2;
+		List<Object[]> after = repository.searchOrderKeysAfter(new OrderFilterDTO(), "deliveryDate", Direction.ASC, false,
+				rows.get(middle)[1], (Long) rows.get(middle)[0], 1000);
+		assertEquals(expected.subList(middle + 1, expected.size()), ids(after));
+	}
+
+	@Test
+	void nullTailShouldSeekOnIdAlone() {
+		OrderFilterDTO filter = new OrderFilterDTO();
+		filter.setUserId(2);
+		List<Long> expected = jdbcTemplate.queryForList(
+				"SELECT id FROM tb_order WHERE delivery_date IS NULL AND user_id = 2 ORDER BY id DESC", Long.class);
+		List<Object[]> rows = repository.searchOrderKeysAfter(filter, "deliveryDate", Direction.DESC, true, null, null, 1000);
+		assertEquals(expected, ids(rows));
+
+		List<Object[]> after = repository.searchOrderKeysAfter(filter, "deliveryDate", Direction.DESC, true, null, expected.get(0), 1000);
+		assertEquals(expected.subList(1, expected.size()), ids(after));
+	}
+
+	@Test
+	void idSeekShouldHonourLimit() {
+		List<Long> expected = jdbcTemplate.queryForList("SELECT id FROM tb_order ORDER BY id DESC LIMIT 5", Long.class);
+		List<Object[]> rows = repository.searchOrderKeysAfter(new OrderFilterDTO(), "id", Direction.DESC, false, null, null, 5);
+		assertEquals(expected, ids(rows));
+	}
+
+	private static List<Long> ids(List<Object[]> rows) {
+		return rows.stream().map(row -> (Long) row[0]).toList();
+	}
+
+}
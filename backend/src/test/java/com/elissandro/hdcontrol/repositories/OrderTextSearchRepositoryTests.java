@@ -0,0 +1,76 @@
+package com.elissandro.hdcontrol.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:hdcontrol-tests", "orders.archive.enabled=false" })
+class OrderTextSearchRepositoryTests {
+
+	private static final String MATCHES = " (UPPER(service_description) LIKE '%TROCA%' OR UPPER(observation) LIKE '%TROCA%')";
+
+	@Autowired
+	private OrderTextSearchRepository repository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void searchShouldFindEveryMatchingOrderOfTheUser() {
+		List<Long> expected = jdbcTemplate.queryForList(
+				"SELECT id FROM tb_order WHERE user_id = 2 AND" + MATCHES + " ORDER BY id DESC", Long.class);
+		assertFalse(expected.isEmpty());
+
+		Page<Long> page = repository.searchOrderIdsByText("troca", 2, PageRequest.of(0, 1000));
+
+		assertEquals(expected.size(), page.getTotalElements());
+		assertEquals(expected, page.getContent());
+	}
+
+	@Test
+	void searchShouldPageWithTotalOfAllMatches() {
+		long expected = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_order WHERE user_id = 2 AND" + MATCHES, Long.class);
+
+		Page<Long> first = repository.searchOrderIdsByText("troca", 2, PageRequest.of(0, 5));
+		Page<Long> second = repository.searchOrderIdsByText("troca", 2, PageRequest.of(1, 5));
+
+		assertEquals(expected, first.getTotalElements());
+		assertEquals(expected, second.getTotalElements());
+		assertEquals(5, first.getNumberOfElements());
+		assertTrue(first.getContent().get(4) > second.getContent().get(0));
+	}
+
+	@Test
+	void searchWithoutUserShouldSpanUsers() {
+		List<Long> expected = jdbcTemplate.queryForList("SELECT id FROM tb_order WHERE" + MATCHES + " ORDER BY id DESC", Long.class);
+
+		Page<Long> page = repository.searchOrderIdsByText("troca", null, PageRequest.of(0, 1000));
+
+		assertEquals(expected, page.getContent());
+		Set<Long> users = new HashSet<>();
+		for (Long id : page.getContent()) {
+			users.add(jdbcTemplate.queryForObject("SELECT user_id FROM tb_order WHERE id = ?", Long.class, id));
+		}
+		assertTrue(users.size() > 1);
+	}
+
+	@Test
+	void searchShouldReturnEmptyPageWhenNothingMatches() {
+		Page<Long> page = repository.searchOrderIdsByText("inexistente", null, PageRequest.of(0, 10));
+
+		assertEquals(0, page.getTotalElements());
+		assertTrue(page.getContent().isEmpty());
+	}
+
+}
@@ -0,0 +1,120 @@
+package com.elissandro.hdcontrol.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.elissandro.hdcontrol.dtos.BrandCountDTO;
+
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:hdcontrol-tests", "orders.archive.enabled=false" })
+class ProductTextSearchRepositoryTests {
+
+	@Autowired
+	private ProductTextSearchRepository repository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void searchShouldReturnOnlyProductsNamedLikeTheText() {
+		List<Long> expected = jdbcTemplate.queryForList("SELECT id FROM tb_product WHERE name = 'HD 2TB' ORDER BY id", Long.class);
+		assertEquals(10, expected.size());
+
+		Page<Long> page = repository.searchProductIdsByName("2tb", null, PageRequest.of(0, 100));
+
+		assertEquals(expected.size(), page.getTotalElements());
+		assertEquals(expected, page.getContent());
+	}
+
+	@Test
+	void searchShouldIgnoreCase() {
+		Page<Long> lower = repository.searchProductIdsByName("2tb", null, PageRequest.of(0, 100));
+		Page<Long> upper = repository.searchProductIdsByName("2TB", null, PageRequest.of(0, 100));
+
+		assertEquals(10, upper.getTotalElements());
+		assertEquals(lower.getContent(), upper.getContent());
+	}
+
+	@Test
+	void searchShouldMatchTextShorterThanATrigramInsideWords() {
+		List<Long> expected = jdbcTemplate.queryForList("SELECT id FROM tb_product WHERE LOWER(name) LIKE '%tb%'", Long.class);
+
+		Page<Long> page = repository.searchProductIdsByName("tb", null, PageRequest.of(0, 100));
+
+		assertEquals(expected.size(), page.getTotalElements());
+		assertEquals(new HashSet<>(expected), new HashSet<>(page.getContent()));
+	}
+
+	@Test
+	void searchShouldRankExactNamesBeforeSimilarOnes() {
+		List<Long> exact = jdbcTemplate.queryForList("SELECT id FROM tb_product WHERE name = 'HD 2TB' ORDER BY id", Long.class);
+
+		Page<Long> page = repository.searchProductIdsByName("hd 2tb", null, PageRequest.of(0, 100));
+
+		assertTrue(page.getTotalElements() > exact.size());
+		assertEquals(exact, page.getContent().subList(0, exact.size()));
+	}
+
+	@Test
+	void searchShouldPageWithTotalOfAllMatches() {
+		Page<Long> all = repository.searchProductIdsByName("2tb", null, PageRequest.of(0, 100));
+		Page<Long> second = repository.searchProductIdsByName("2tb", null, PageRequest.of(1, 4));
+
+		assertEquals(all.getTotalElements(), second.getTotalElements());
+		assertEquals(all.getContent().subList(4, 8), second.getContent());
+	}
+
+	@Test
+	void searchWithBrandShouldReturnOnlyThatBrand() {
+		List<Long> expected = jdbcTemplate.queryForList(
+				"SELECT id FROM tb_product WHERE name = 'HD 2TB' AND brand = 'SEAGATE' ORDER BY id", Long.class);
+		assertEquals(2, expected.size());
+
+		Page<Long> page = repository.searchProductIdsByName("2tb", "SEAGATE", PageRequest.of(0, 100));
+
+		assertEquals(expected.size(), page.getTotalElements());
+		assertEquals(expected, page.getContent());
+	}
+
+	@Test
+	void countBrandsShouldAddUpToTheUnfilteredSearch() {
+		List<BrandCountDTO> counts = repository.countBrandsByName("2tb");
+		Map<String, Long> byBrand = counts.stream().collect(Collectors.toMap(BrandCountDTO::getBrand, BrandCountDTO::getQuantity));
+		Page<Long> page = repository.searchProductIdsByName("2tb", null, PageRequest.of(0, 1));
+
+		assertEquals(Map.of("SAMSUNG", 2L, "WESTERN DIGITAL", 2L, "SEAGATE", 2L, "TOSHIBA", 2L, "HITACHI", 2L), byBrand);
+		assertEquals(page.getTotalElements(), counts.stream().mapToLong(BrandCountDTO::getQuantity).sum());
+		assertEquals(counts.stream().map(BrandCountDTO::getBrand).sorted().toList(),
+				counts.stream().map(BrandCountDTO::getBrand).toList());
+	}
+
+	@Test
+	void countBrandsShouldMatchEachBrandFilteredSearch() {
+		List<BrandCountDTO> counts = repository.countBrandsByName("hd 1");
+		assertTrue(counts.size() > 1);
+		for (BrandCountDTO count : counts) {
+			Page<Long> page = repository.searchProductIdsByName("hd 1", count.getBrand(), PageRequest.of(0, 1));
+			assertEquals(count.getQuantity(), page.getTotalElements());
+		}
+	}
+
+	@Test
+	void searchShouldReturnEmptyPageWhenNothingMatches() {
+		Page<Long> page = repository.searchProductIdsByName("ssd nvme", null, PageRequest.of(0, 10));
+
+		assertEquals(0, page.getTotalElements());
+		assertTrue(page.getContent().isEmpty());
+	}
+
+}
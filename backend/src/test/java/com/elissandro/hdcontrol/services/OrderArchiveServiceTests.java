@@ -0,0 +1,50 @@
+package com.elissandro.hdcontrol.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.elissandro.hdcontrol.dtos.OrderArchiveResultDTO;
+import com.elissandro.hdcontrol.repositories.OrderTombstoneRepository;
+
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:hdcontrol-tests", "orders.archive.enabled=false" })
+@Transactional
+class OrderArchiveServiceTests {
+
+	@Autowired
+	private OrderArchiveService service;
+
+	@Autowired
+	private OrderTombstoneRepository tombstoneRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void archivedOrdersShouldLeaveTombstonesForSyncClients() {
+		List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM tb_order WHERE user_id IS NOT NULL ORDER BY id FETCH FIRST 3 ROWS ONLY", Long.class);
+		for (Long id : ids) {
+			jdbcTemplate.update("UPDATE tb_order SET status = 'FINALIZED', delivery_date = DATE '2000-01-01' WHERE id = ?", id);
+		}
+		Instant before = Instant.now().minusSeconds(1);
+
+		OrderArchiveResultDTO result = service.archive();
+
+		assertTrue(result.getOrdersArchived() >= ids.size());
+		List<Long> archived = jdbcTemplate.queryForList("SELECT id FROM tb_order_archive ORDER BY id", Long.class);
+		assertTrue(archived.containsAll(ids));
+		List<Long> deleted = tombstoneRepository.findDeletedOrderIds(null, before, Instant.now().plusSeconds(1));
+		assertEquals(archived.stream().sorted().toList(), deleted.stream().sorted().toList());
+		Long userId = jdbcTemplate.queryForObject("SELECT user_id FROM tb_order_archive WHERE id = ?", Long.class, ids.get(0));
+		assertTrue(tombstoneRepository.findDeletedOrderIds(userId.intValue(), before, Instant.now().plusSeconds(1)).contains(ids.get(0)));
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.elissandro.hdcontrol.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+/*
+ * Runs only in the export-heap surefire execution, which forks with a small
+ * heap (see pom.xml). The orders live in a file database so the table is not
+ * counted against that heap, and the export has to stream it: holding the
+ * orders or their persistence context would not fit.
+ */
+@Tag("export-heap")
+@SpringBootTest(properties = { "spring.jpa.hibernate.ddl-auto=create-drop", "orders.archive.enabled=false",
+		"spring.jpa.show-sql=false" })
+class OrderExportHeapTests {
+
+	private static final int ORDERS = 100_000;
+	private static final Path DATABASE_DIR = Path.of("target", "export-heap");
+
+	@Autowired
+	private OrderExportService exportService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/* a run killed by the heap limit leaves a broken database file behind */
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws IOException {
+		FileSystemUtils.deleteRecursively(DATABASE_DIR);
+		registry.add("spring.datasource.url", () -> "jdbc:h2:file:./target/export-heap/hdcontrol");
+	}
+
+	@Test
+	void exportShouldStreamMoreOrdersThanTheHeapHolds() throws IOException {
+		/* the H2 full-text index keeps its word map on the heap */
+		jdbcTemplate.execute("CALL FT_DROP_INDEX('PUBLIC', 'TB_ORDER')");
+		jdbcTemplate.update("INSERT INTO tb_order (user_id, service_description, observation, status, delivery_date, "
+				+ "total, total_quantity, version, updated_at) "
+				+ "SELECT MOD(x, 4) + 1, 'EXPORT ' || x, REPEAT('x', 200), 'READY', DATEADD('DAY', MOD(x, 365), DATE '2024-01-01'), "
+				+ "30.0, 2, 0, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, " + ORDERS + ")");
+		jdbcTemplate.update("INSERT INTO tb_order_item (order_id, product_id, quantity, price) "
+				+ "SELECT id, p.product_id, 1, 15.0 FROM tb_order, (VALUES 1, 2) p(product_id) "
+				+ "WHERE service_description LIKE 'EXPORT %'");
+		long orders = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_order", Long.class);
+
+		LineCounter out = new LineCounter();
+		exportService.exportNdjson(out);
+
+		assertEquals(orders, out.lines);
+	}
+
+	private static class LineCounter extends OutputStream {
+
+		private long lines;
+
+		@Override
+		public void write(int b) {
+			if (b == '\n') {
+				lines++;
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			for (int i = off; i < off + len; i++) {
+				write(b[i]);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.elissandro.hdcontrol.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.elissandro.hdcontrol.dtos.CursorPageDTO;
+import com.elissandro.hdcontrol.dtos.OrderDTO;
+import com.elissandro.hdcontrol.dtos.OrderFilterDTO;
+
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:hdcontrol-tests", "orders.archive.enabled=false" })
+@Transactional
+class OrderServiceCursorTests {
+
+	private static final int PAGE_SIZE = 4;
+
+	@Autowired
+	private OrderService service;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		/* leave a few undated orders, for user 2 and for the others, so pages cross into the null tail */
+		jdbcTemplate.update("UPDATE tb_order SET delivery_date = NULL WHERE MOD(id, 5) = 0");
+	}
+
+	@Test
+	void deliveryDateCursorShouldReadEveryOrderOnceInBothDirections() {
+		assertWalk(new OrderFilterDTO(), Direction.ASC);
+		assertWalk(new OrderFilterDTO(), Direction.DESC);
+	}
+
+	@Test
+	void deliveryDateCursorShouldReadEveryOrderOfOneUserOnce() {
+		OrderFilterDTO filter = new OrderFilterDTO();
+		filter.setUserId(2);
+		assertWalk(filter, Direction.ASC);
+		assertWalk(filter, Direction.DESC);
+	}
+
+	@Test
+	void idCursorShouldReadEveryOrderOnce() {
+		List<Long> expected = jdbcTemplate.queryForList("SELECT id FROM tb_order ORDER BY id DESC", Long.class);
+		assertEquals(expected, walk(new OrderFilterDTO(), Sort.by(Direction.DESC, "id")));
+	}
+
+	private void assertWalk(OrderFilterDTO filter, Direction direction) {
+		String where = filter.getUserId() == null ? "" : " WHERE user_id = " + filter.getUserId();
+		List<Long> expected = jdbcTemplate.queryForList("SELECT id FROM tb_order" + where + " ORDER BY delivery_date "
+				+ direction + " NULLS LAST, id " + direction, Long.class);
+		assertEquals(expected, walk(filter, Sort.by(direction, "deliveryDate")));
+	}
+
+	private List<Long> walk(OrderFilterDTO filter, Sort sort) {
+		List<Long> ids = new ArrayList<>();
+		String cursor = "";
+		do {
+			CursorPageDTO<OrderDTO> page = service.findAllByCursor(cursor, PageRequest.of(0, PAGE_SIZE, sort), filter);
+			page.getContent().forEach(order -> ids.add(order.getId()));
+			cursor = page.getNext();
+		} while (cursor != null);
+		return ids;
+	}
+
+}
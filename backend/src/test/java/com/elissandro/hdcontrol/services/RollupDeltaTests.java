@@ -0,0 +1,159 @@
+package com.elissandro.hdcontrol.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.elissandro.hdcontrol.dtos.OrderDTO;
+import com.elissandro.hdcontrol.dtos.OrderItemDTO;
+import com.elissandro.hdcontrol.dtos.OrderStatusUpdateDTO;
+import com.elissandro.hdcontrol.dtos.PaymentDTO;
+import com.elissandro.hdcontrol.entities.enums.OrderStatus;
+import com.elissandro.hdcontrol.entities.enums.PaymentStatus;
+
+import jakarta.persistence.EntityManager;
+
+/*
+ * Each write path applies its own deltas to the daily revenue, product and
+ * brand stats and client balances; after it the tables must hold what a full
+ * rebuild computes from the orders.
+ */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:hdcontrol-tests", "orders.archive.enabled=false" })
+@Transactional
+class RollupDeltaTests {
+
+	private static final List<String> SNAPSHOTS = List.of(
+			"SELECT revenue_date, status, order_count, quantity, ROUND(revenue, 2), ROUND(paid_revenue, 2) "
+					+ "FROM tb_daily_revenue WHERE order_count <> 0 ORDER BY revenue_date, status",
+			"SELECT product_id, quantity, ROUND(revenue, 2), order_count FROM tb_product_stats WHERE order_count <> 0 ORDER BY product_id",
+			"SELECT brand, quantity, ROUND(revenue, 2), order_count FROM tb_brand_stats WHERE order_count <> 0 ORDER BY brand",
+			"SELECT user_id, order_count, ROUND(total, 2), ROUND(paid_total, 2) FROM tb_client_balance WHERE order_count <> 0 ORDER BY user_id");
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private DailyRevenueService revenueService;
+
+	@Autowired
+	private ProductStatsService productStatsService;
+
+	@Autowired
+	private ClientBalanceService clientBalanceService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManager em;
+
+	@BeforeEach
+	void setUp() {
+		rebuild();
+	}
+
+	@Test
+	void insertShouldMatchRebuild() {
+		OrderDTO dto = new OrderDTO(orderService.findById(orderWithItems()));
+		dto.setId(null);
+		orderService.insert(dto);
+		assertRollupsMatchRebuild();
+	}
+
+	@Test
+	void updateShouldMatchRebuild() {
+		OrderDTO dto = new OrderDTO(orderService.findById(orderWithItems()));
+		dto.setDeliveryDate(dto.getDeliveryDate() == null ? LocalDate.of(2025, 1, 1) : dto.getDeliveryDate().plusDays(3));
+		dto.getItems().get(0).setQuantity(dto.getItems().get(0).getQuantity() + 2);
+		orderService.update(dto.getId(), dto, null);
+		assertRollupsMatchRebuild();
+	}
+
+	@Test
+	void updateItemShouldMatchRebuild() {
+		OrderDTO dto = new OrderDTO(orderService.findById(orderWithItems()));
+		OrderItemDTO item = dto.getItems().get(0);
+		item.setQuantity(0);
+		orderService.updateItem(dto.getId(), item, null);
+		assertRollupsMatchRebuild();
+	}
+
+	@Test
+	void statusChangeShouldMatchRebuild() {
+		List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM tb_order WHERE status = 'READY' ORDER BY id LIMIT 3", Long.class);
+		OrderStatusUpdateDTO dto = new OrderStatusUpdateDTO();
+		dto.getIds().addAll(ids);
+		dto.setStatus(OrderStatus.CANCELED);
+		orderService.updateStatus(dto);
+		assertRollupsMatchRebuild();
+
+		dto.setStatus(OrderStatus.PENDING);
+		orderService.updateStatus(dto);
+		assertRollupsMatchRebuild();
+	}
+
+	@Test
+	void paymentShouldMatchRebuild() {
+		long orderId = jdbcTemplate.queryForObject("SELECT MIN(o.id) FROM tb_order o WHERE o.status <> 'CANCELED' "
+				+ "AND NOT EXISTS (SELECT 1 FROM tb_payment p WHERE p.order_id = o.id)", Long.class);
+		paymentService.insert(new PaymentDTO(orderId, null, null));
+		assertRollupsMatchRebuild();
+
+		paymentService.update(orderId, new PaymentDTO(orderId, null, PaymentStatus.PAID));
+		assertRollupsMatchRebuild();
+	}
+
+	@Test
+	void deleteShouldMatchRebuild() {
+		orderService.delete(orderWithItems());
+		assertRollupsMatchRebuild();
+	}
+
+	private long orderWithItems() {
+		return jdbcTemplate.queryForObject("SELECT MAX(order_id) FROM tb_order_item", Long.class);
+	}
+
+	@Test
+	void revenueRowsShouldComeOutInDateAndStatusOrder() {
+		RevenueDeltas deltas = new RevenueDeltas();
+		deltas.add(LocalDate.of(2025, 3, 2), OrderStatus.PENDING, 10.0, 1, false, 1);
+		deltas.add(LocalDate.of(2025, 3, 1), OrderStatus.DELIVERED, 10.0, 1, false, 1);
+		deltas.add(LocalDate.of(2025, 3, 2), OrderStatus.CANCELED, 10.0, 1, false, 1);
+		deltas.add(LocalDate.of(2025, 3, 1), OrderStatus.PENDING, 10.0, 1, false, 1);
+
+		List<String> keys = deltas.rows().stream().map(row -> row[0] + " " + row[1]).toList();
+
+		assertEquals(List.of("2025-03-01 " + OrderStatus.PENDING, "2025-03-01 " + OrderStatus.DELIVERED,
+				"2025-03-02 " + OrderStatus.PENDING, "2025-03-02 " + OrderStatus.CANCELED), keys);
+	}
+
+	private void assertRollupsMatchRebuild() {
+		em.flush();
+		List<List<Map<String, Object>>> applied = snapshot();
+		rebuild();
+		assertEquals(snapshot(), applied);
+	}
+
+	private List<List<Map<String, Object>>> snapshot() {
+		return SNAPSHOTS.stream().map(jdbcTemplate::queryForList).toList();
+	}
+
+	private void rebuild() {
+		revenueService.rebuild();
+		productStatsService.rebuild();
+		clientBalanceService.rebuild();
+	}
+
+}